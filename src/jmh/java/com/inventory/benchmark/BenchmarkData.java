@@ -0,0 +1,149 @@
+package com.inventory.benchmark;
+
+import lombok.Value;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Synthetic upload files for the benchmarks. Rows are generated from a fixed
+ * seed, so every run (and every fork) reads the same bytes; files are written
+ * once under {@code target/jmh-data} and reused, since a 1M-row XLSX takes
+ * longer to write than most iterations take to read it.
+ */
+final class BenchmarkData {
+
+    private static final Path DATA_DIR = Paths.get("target", "jmh-data");
+
+    private static final String HEADER =
+            "Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity";
+
+    private static final String[] CATEGORIES = {
+            "Furniture", "Electronics", "Stationery", "Kitchen", "Garden",
+            "Toys", "Clothing", "Sports", "Lighting", "Storage"
+    };
+
+    private static final String[] NOUNS = {
+            "Chair", "Desk", "Lamp", "Monitor", "Notebook", "Kettle", "Hose",
+            "Puzzle", "Jacket", "Racket", "Shelf", "Cable", "Pen", "Mug"
+    };
+
+    private static final String[] ADJECTIVES = {
+            "Oak", "Steel", "Compact", "Deluxe", "Wireless", "Classic",
+            "Ergonomic", "Portable", "Premium", "Basic"
+    };
+
+    private static final LocalDate OLDEST_PURCHASE = LocalDate.of(2020, 1, 1);
+    private static final int PURCHASE_DAYS = 1800;
+
+    private BenchmarkData() {
+    }
+
+    static Path csv(int rows) throws IOException {
+
+        Path file = DATA_DIR.resolve("inventory-" + rows + ".csv");
+        if (Files.exists(file)) {
+            return file;
+        }
+
+        Files.createDirectories(DATA_DIR);
+        Path partial = Files.createTempFile(DATA_DIR, "inventory-", ".csv.part");
+
+        try (Writer out = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            out.write(HEADER);
+            out.write('\n');
+            forEachRow(rows, row -> {
+                try {
+                    out.write(row.getSku() + ',' + row.getName() + ',' + row.getCategory() + ','
+                            + row.getPurchaseDate() + ',' + row.getUnitPrice() + ',' + row.getQuantity() + '\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        return Files.move(partial, file);
+    }
+
+    static Path xlsx(int rows) throws IOException {
+
+        Path file = DATA_DIR.resolve("inventory-" + rows + ".xlsx");
+        if (Files.exists(file)) {
+            return file;
+        }
+
+        Files.createDirectories(DATA_DIR);
+        Path partial = Files.createTempFile(DATA_DIR, "inventory-", ".xlsx.part");
+
+        // SXSSF flushes rows to a temp file, so 1M rows fit in a small heap
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000);
+             OutputStream out = Files.newOutputStream(partial)) {
+
+            Sheet sheet = workbook.createSheet("Inventory");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+
+            String[] header = HEADER.split(",");
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < header.length; i++) {
+                headerRow.createCell(i).setCellValue(header[i]);
+            }
+
+            int[] next = {1};
+            forEachRow(rows, row -> {
+                Row excelRow = sheet.createRow(next[0]++);
+                excelRow.createCell(0).setCellValue(row.getSku());
+                excelRow.createCell(1).setCellValue(row.getName());
+                excelRow.createCell(2).setCellValue(row.getCategory());
+                excelRow.createCell(3).setCellValue(row.getPurchaseDate());
+                excelRow.getCell(3).setCellStyle(dateStyle);
+                excelRow.createCell(4).setCellValue(row.getUnitPrice());
+                excelRow.createCell(5).setCellValue(row.getQuantity());
+            });
+
+            workbook.write(out);
+            workbook.dispose();
+        }
+
+        return Files.move(partial, file);
+    }
+
+    private static void forEachRow(int rows, Consumer<GeneratedRow> consumer) {
+
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < rows; i++) {
+            consumer.accept(new GeneratedRow(
+                    String.format("SKU-%07d", i),
+                    ADJECTIVES[random.nextInt(ADJECTIVES.length)] + ' ' + NOUNS[random.nextInt(NOUNS.length)],
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    OLDEST_PURCHASE.plusDays(random.nextInt(PURCHASE_DAYS)),
+                    (1 + random.nextInt(99_999)) / 100.0,
+                    1 + random.nextInt(500)
+            ));
+        }
+    }
+
+    @Value
+    private static class GeneratedRow {
+        String sku;
+        String name;
+        String category;
+        LocalDate purchaseDate;
+        double unitPrice;
+        int quantity;
+    }
+}
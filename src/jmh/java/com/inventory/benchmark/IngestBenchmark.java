@@ -0,0 +1,47 @@
+package com.inventory.benchmark;
+
+import com.inventory.dto.ExcelUploadResultDTO;
+import com.inventory.util.CsvReaderUtil;
+import com.inventory.util.ExcelReaderUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse-only cost of an upload: file bytes to validated {@code ProductDTO}s,
+ * with the database left out. Each invocation reads the whole file, so
+ * throughput is files per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class IngestBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private FileSystemResource csv;
+    private FileSystemResource xlsx;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        csv = new FileSystemResource(BenchmarkData.csv(rows));
+        xlsx = new FileSystemResource(BenchmarkData.xlsx(rows));
+    }
+
+    @Benchmark
+    public ExcelUploadResultDTO readCsv(Blackhole blackhole) {
+        return CsvReaderUtil.readCsv(csv, blackhole::consume);
+    }
+
+    @Benchmark
+    public ExcelUploadResultDTO readExcel(Blackhole blackhole) {
+        return ExcelReaderUtil.readExcel(xlsx, blackhole::consume);
+    }
+}
@@ -0,0 +1,121 @@
+package com.inventory.benchmark;
+
+import com.inventory.InventoryBackendApplication;
+import com.inventory.dto.ExcelUploadResultDTO;
+import com.inventory.dto.PageResponseDTO;
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductSummaryDTO;
+import com.inventory.exception.IllegalArgumentException;
+import com.inventory.ingest.UploadMode;
+import com.inventory.repository.CategorySummaryView;
+import com.inventory.repository.InventoryRepository;
+import com.inventory.repository.InventorySummaryView;
+import com.inventory.repository.ProductFilter;
+import com.inventory.service.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths against an in-memory H2 database loaded through the normal
+ * upload flow. The page cache is sized to zero so every call reaches the
+ * repository (or the in-memory catalogue when {@code catalogue} is true).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class QueryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean catalogue;
+
+    private ConfigurableApplicationContext context;
+    private ProductServiceImpl productService;
+    private InventoryRepository inventoryRepository;
+
+    private int middlePage;
+    private ProductFilter categoryFilter;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+
+        context = new SpringApplicationBuilder(InventoryBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "inventory.cache.product-page-rows=0",
+                        "inventory.catalogue.in-memory=" + catalogue)
+                .run();
+
+        productService = context.getBean(ProductServiceImpl.class);
+        inventoryRepository = context.getBean(InventoryRepository.class);
+
+        Path csv = BenchmarkData.csv(rows);
+        try (InputStream in = Files.newInputStream(csv)) {
+            ExcelUploadResultDTO result = productService.uploadFile(
+                    new MockMultipartFile("file", "inventory.csv", "text/csv", in),
+                    UploadMode.REPLACE, false);
+
+            if (result.getSuccessCount() != rows) {
+                throw new IllegalStateException("Loaded " + result.getSuccessCount() + " of " + rows + " rows");
+            }
+        }
+
+        middlePage = rows / PAGE_SIZE / 2;
+        categoryFilter = ProductFilter.builder().category("Furniture").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    @Benchmark
+    public PageResponseDTO<ProductDTO> firstPage() throws IllegalArgumentException {
+        return productService.getProducts(0, PAGE_SIZE, "productName", "asc");
+    }
+
+    @Benchmark
+    public PageResponseDTO<ProductDTO> middlePage() throws IllegalArgumentException {
+        return productService.getProducts(middlePage, PAGE_SIZE, "inventoryValue", "desc");
+    }
+
+    @Benchmark
+    public PageResponseDTO<ProductDTO> filteredPage() throws IllegalArgumentException {
+        return productService.getProducts(0, PAGE_SIZE, "purchaseDate", "asc", categoryFilter);
+    }
+
+    @Benchmark
+    public ProductSummaryDTO summary() {
+        return productService.getSummary();
+    }
+
+    @Benchmark
+    public InventorySummaryView summaryQuery() {
+        return inventoryRepository.summarize();
+    }
+
+    @Benchmark
+    public List<CategorySummaryView> categorySummaryQuery() {
+        return inventoryRepository.summarizeByCategory();
+    }
+}
@@ -0,0 +1,68 @@
+package com.inventory.cache;
+
+import com.inventory.dto.CategorySummaryDTO;
+import com.inventory.repository.CategorySummaryView;
+import com.inventory.repository.InventoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Per-category aggregates behind {@code /api/products/summary/by-category}.
+ * <p>
+ * The GROUP BY result is kept until {@link InventoryDataVersion} moves on,
+ * i.e. until the next upload or clear. Average stock age is derived from
+ * the cached epoch-day sums on every call, so it stays correct as days pass.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategorySummaryCache {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryDataVersion dataVersion;
+
+    private volatile Snapshot snapshot;
+
+    public List<CategorySummaryDTO> summary() {
+        return summary(LocalDate.now());
+    }
+
+    public List<CategorySummaryDTO> summary(LocalDate today) {
+
+        Snapshot current = snapshot;
+        long version = dataVersion.current();
+
+        if (current == null || current.getVersion() != version) {
+            // stored under the version read before the query, so a concurrent upload forces a reload
+            current = new Snapshot(version, inventoryRepository.summarizeByCategory());
+            snapshot = current;
+        }
+
+        return current.getRows().stream()
+                .map(row -> toDTO(row, today))
+                .toList();
+    }
+
+    private static CategorySummaryDTO toDTO(CategorySummaryView row, LocalDate today) {
+
+        long count = row.getTotalProducts();
+        double avgAge = today.toEpochDay() - (double) row.getPurchaseEpochDaySum() / count;
+
+        return CategorySummaryDTO.builder()
+                .category(row.getCategory())
+                .totalProducts((int) count)
+                .totalInventoryValue(row.getTotalInventoryValue())
+                .averageUnitPrice(Math.round(row.getAverageUnitPrice() * 100.0) / 100.0)
+                .averageStockAge(Math.round(avgAge * 100.0) / 100.0)
+                .build();
+    }
+
+    @Value
+    private static class Snapshot {
+        long version;
+        List<CategorySummaryView> rows;
+    }
+}
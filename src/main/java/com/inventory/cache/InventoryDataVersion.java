@@ -0,0 +1,24 @@
+package com.inventory.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter bumped every time the inventory table changes. Anything derived
+ * from the table can be keyed on it, so a value computed before a change is
+ * never mistaken for one computed after it.
+ */
+@Component
+public class InventoryDataVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public long bump() {
+        return version.incrementAndGet();
+    }
+}
@@ -0,0 +1,101 @@
+package com.inventory.cache;
+
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductSummaryDTO;
+import com.inventory.repository.InventoryRepository;
+import com.inventory.repository.InventorySummaryView;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Running totals behind {@code /api/products/summary}.
+ * <p>
+ * Writers publish a complete {@link Totals} snapshot after they change the
+ * table, so readers always see one consistent (count, value, epoch-day) triple
+ * and the summary is answered in constant time. Average stock age is derived
+ * from the sum of purchase epoch-days, so it never needs a rescan as days pass.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventorySummaryAccumulator {
+
+    private final InventoryRepository inventoryRepository;
+
+    private volatile Totals totals = Totals.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        InventorySummaryView view = inventoryRepository.summarize();
+
+        replace(new Totals(
+                view.getTotalProducts(),
+                view.getTotalInventoryValue(),
+                view.getPurchaseEpochDaySum()
+        ));
+    }
+
+    public void replace(Totals newTotals) {
+        totals = newTotals;
+    }
+
+    public void reset() {
+        totals = Totals.EMPTY;
+    }
+
+    public Totals current() {
+        return totals;
+    }
+
+    public ProductSummaryDTO summary() {
+        return summary(LocalDate.now());
+    }
+
+    public ProductSummaryDTO summary(LocalDate today) {
+
+        Totals snapshot = totals;
+
+        double avgAge = snapshot.getCount() == 0
+                ? 0
+                : today.toEpochDay() - (double) snapshot.getPurchaseEpochDaySum() / snapshot.getCount();
+
+        avgAge = Math.round(avgAge * 100.0) / 100.0;
+
+        return ProductSummaryDTO.builder()
+                .totalProducts((int) snapshot.getCount())
+                .totalInventoryValue(snapshot.getInventoryValue())
+                .averageStockAge(avgAge)
+                .build();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Totals {
+
+        public static final Totals EMPTY = new Totals(0, 0, 0);
+
+        private final long count;
+        private final double inventoryValue;
+        private final long purchaseEpochDaySum;
+
+        public Totals plus(Collection<ProductDTO> products) {
+
+            long addedCount = count;
+            double addedValue = inventoryValue;
+            long addedEpochDays = purchaseEpochDaySum;
+
+            for (ProductDTO dto : products) {
+                addedCount++;
+                addedValue += dto.getUnitPrice() * dto.getQuantity();
+                addedEpochDays += dto.getPurchaseDate().toEpochDay();
+            }
+
+            return new Totals(addedCount, addedValue, addedEpochDays);
+        }
+    }
+}
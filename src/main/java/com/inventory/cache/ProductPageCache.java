@@ -0,0 +1,89 @@
+package com.inventory.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.CacheStatsDTO;
+import com.inventory.dto.PageResponseDTO;
+import com.inventory.dto.ProductDTO;
+import com.inventory.repository.ProductFilter;
+import com.inventory.repository.ProductSortKey;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Size-bounded (W-TinyLFU) cache of enriched product pages, weighed by the
+ * number of rows they hold so a few very large pages cannot pin the heap.
+ * <p>
+ * Keys carry the {@link InventoryDataVersion} read before the page was
+ * queried, so a page computed while an upload was committing is stored under
+ * the old version and never served afterwards. {@link #invalidate()} bumps
+ * the version and drops every entry. Keys also carry the day the page was
+ * computed for, because stock ages and resolved {@code minStockAge} filters
+ * change at midnight without any upload.
+ */
+@Component
+public class ProductPageCache {
+
+    private final InventoryDataVersion dataVersion;
+    private final Cache<PageKey, PageResponseDTO<ProductDTO>> pages;
+
+    public ProductPageCache(InventoryProperties properties, InventoryDataVersion dataVersion) {
+        this.dataVersion = dataVersion;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(properties.getCache().getProductPageRows())
+                .weigher((PageKey key, PageResponseDTO<ProductDTO> page) -> Math.max(1, page.getContent().size()))
+                .recordStats()
+                .build();
+    }
+
+    public PageKey keyFor(
+            LocalDate today, ProductSortKey sortKey, boolean descending, int page, int size, ProductFilter filter) {
+        return new PageKey(dataVersion.current(), today, sortKey, descending, page, size, filter);
+    }
+
+    public PageResponseDTO<ProductDTO> get(PageKey key) {
+        return pages.getIfPresent(key);
+    }
+
+    public void put(PageKey key, PageResponseDTO<ProductDTO> page) {
+        pages.put(key, page);
+    }
+
+    public void invalidate() {
+        dataVersion.bump();
+        pages.invalidateAll();
+    }
+
+    public CacheStatsDTO stats() {
+
+        CacheStats stats = pages.stats();
+
+        return CacheStatsDTO.builder()
+                .entries(pages.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    @Value
+    public static class PageKey {
+        long version;
+
+        // stock ages in the cached rows are relative to this day
+        LocalDate today;
+
+        ProductSortKey sortKey;
+        boolean descending;
+        int page;
+        int size;
+
+        // resolved against today, so minStockAge is already a date
+        ProductFilter filter;
+    }
+}
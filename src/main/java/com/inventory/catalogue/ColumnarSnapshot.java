@@ -0,0 +1,215 @@
+package com.inventory.catalogue;
+
+import com.inventory.cache.InventorySummaryAccumulator;
+import com.inventory.dto.ProductDTO;
+import com.inventory.mapper.ProductMapper;
+import com.inventory.repository.ProductFilter;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable column-per-field copy of the inventory table.
+ * <p>
+ * Strings are dictionary-encoded, dates are epoch days and numbers are
+ * primitive arrays: 28 bytes per row plus 4 per sort permutation and one
+ * copy of each distinct string, instead of an object graph per row. Sort permutations
+ * are built by packing {@code (rank << 32 | position)} into a {@code long[]}
+ * and sorting that, so no boxing happens and ties fall back to position,
+ * i.e. id order.
+ */
+final class ColumnarSnapshot {
+
+    static final ColumnarSnapshot EMPTY = new Builder().build();
+
+    private final int size;
+
+    private final StringDictionary skuDictionary;
+    private final StringDictionary nameDictionary;
+    private final StringDictionary categoryDictionary;
+
+    private final int[] skus;
+    private final int[] names;
+    private final int[] categories;
+    private final int[] purchaseEpochDays;
+    private final double[] unitPrices;
+    private final int[] quantities;
+
+    // sortable Inventory property -> row positions in ascending order
+    private final Map<String, int[]> orders = new HashMap<>();
+
+    private final InventorySummaryAccumulator.Totals totals;
+
+    private ColumnarSnapshot(Builder builder) {
+
+        size = builder.size;
+
+        skus = Arrays.copyOf(builder.skus, size);
+        names = Arrays.copyOf(builder.names, size);
+        categories = Arrays.copyOf(builder.categories, size);
+        purchaseEpochDays = Arrays.copyOf(builder.purchaseEpochDays, size);
+        unitPrices = Arrays.copyOf(builder.unitPrices, size);
+        quantities = Arrays.copyOf(builder.quantities, size);
+
+        skuDictionary = builder.skuDictionary.build(skus, size);
+        nameDictionary = builder.nameDictionary.build(names, size);
+        categoryDictionary = builder.categoryDictionary.build(categories, size);
+
+        double[] inventoryValues = new double[size];
+        double totalValue = 0;
+        long epochDaySum = 0;
+
+        for (int row = 0; row < size; row++) {
+            inventoryValues[row] = unitPrices[row] * quantities[row];
+            totalValue += inventoryValues[row];
+            epochDaySum += purchaseEpochDays[row];
+        }
+
+        totals = new InventorySummaryAccumulator.Totals(size, totalValue, epochDaySum);
+
+        orders.put("productName", sortedPositions(names));
+        orders.put("purchaseDate", sortedPositions(purchaseEpochDays));
+        orders.put("unitPrice", sortedPositions(ranks(unitPrices)));
+        orders.put("quantity", sortedPositions(quantities));
+        orders.put("inventoryValue", sortedPositions(ranks(inventoryValues)));
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] order(String property) {
+        return orders.get(property);
+    }
+
+    InventorySummaryAccumulator.Totals totals() {
+        return totals;
+    }
+
+    ProductDTO product(int row) {
+        return ProductMapper.enrich(ProductDTO.builder()
+                .productSku(skuDictionary.get(skus[row]))
+                .productName(nameDictionary.get(names[row]))
+                .category(categoryDictionary.get(categories[row]))
+                .purchaseDate(LocalDate.ofEpochDay(purchaseEpochDays[row]))
+                .unitPrice(unitPrices[row])
+                .quantity(quantities[row])
+                .build());
+    }
+
+    /**
+     * Row test for a resolved filter: every bound becomes a primitive
+     * comparison, and the SKU prefix becomes a range of dictionary codes.
+     */
+    IntPredicate matcher(ProductFilter filter) {
+
+        int category = filter.getCategory() == null ? -1 : categoryDictionary.codeOf(filter.getCategory());
+
+        if (filter.getCategory() != null && category < 0) {
+            return row -> false;
+        }
+
+        int[] skuRange = filter.getSkuPrefix() == null
+                ? new int[] {0, skuDictionary.size()}
+                : skuDictionary.prefixRange(filter.getSkuPrefix());
+
+        int firstDay = filter.getPurchasedFrom() == null
+                ? Integer.MIN_VALUE
+                : (int) filter.getPurchasedFrom().toEpochDay();
+        int lastDay = filter.getPurchasedTo() == null
+                ? Integer.MAX_VALUE
+                : (int) filter.getPurchasedTo().toEpochDay();
+
+        double minPrice = filter.getMinPrice() == null ? Double.NEGATIVE_INFINITY : filter.getMinPrice();
+        double maxPrice = filter.getMaxPrice() == null ? Double.POSITIVE_INFINITY : filter.getMaxPrice();
+
+        int skuFrom = skuRange[0], skuTo = skuRange[1];
+
+        return row -> (category < 0 || categories[row] == category)
+                && skus[row] >= skuFrom && skus[row] < skuTo
+                && purchaseEpochDays[row] >= firstDay && purchaseEpochDays[row] <= lastDay
+                && unitPrices[row] >= minPrice && unitPrices[row] <= maxPrice;
+    }
+
+    private static int[] sortedPositions(int[] keys) {
+
+        long[] packed = new long[keys.length];
+        for (int row = 0; row < keys.length; row++) {
+            packed[row] = ((long) keys[row] << 32) | row;
+        }
+
+        Arrays.parallelSort(packed);
+
+        int[] order = new int[keys.length];
+        for (int i = 0; i < packed.length; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    // dense rank of each value; equal values share a rank so ties keep id order
+    private static int[] ranks(double[] values) {
+
+        double[] distinct = values.clone();
+        Arrays.parallelSort(distinct);
+
+        int count = 0;
+        for (double value : distinct) {
+            if (count == 0 || Double.compare(value, distinct[count - 1]) != 0) {
+                distinct[count++] = value;
+            }
+        }
+
+        int[] ranks = new int[values.length];
+        for (int row = 0; row < values.length; row++) {
+            ranks[row] = Arrays.binarySearch(distinct, 0, count, values[row]);
+        }
+        return ranks;
+    }
+
+    /**
+     * Appends rows one at a time, so a reload never holds the row objects.
+     */
+    static final class Builder {
+
+        private final StringDictionary.Builder skuDictionary = new StringDictionary.Builder();
+        private final StringDictionary.Builder nameDictionary = new StringDictionary.Builder();
+        private final StringDictionary.Builder categoryDictionary = new StringDictionary.Builder();
+
+        private int size;
+        private int[] skus = new int[1024];
+        private int[] names = new int[1024];
+        private int[] categories = new int[1024];
+        private int[] purchaseEpochDays = new int[1024];
+        private double[] unitPrices = new double[1024];
+        private int[] quantities = new int[1024];
+
+        void add(ProductDTO product) {
+
+            if (size == skus.length) {
+                int capacity = size * 2;
+                skus = Arrays.copyOf(skus, capacity);
+                names = Arrays.copyOf(names, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                purchaseEpochDays = Arrays.copyOf(purchaseEpochDays, capacity);
+                unitPrices = Arrays.copyOf(unitPrices, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+            }
+
+            skus[size] = skuDictionary.add(product.getProductSku());
+            names[size] = nameDictionary.add(product.getProductName());
+            categories[size] = categoryDictionary.add(product.getCategory());
+            purchaseEpochDays[size] = (int) product.getPurchaseDate().toEpochDay();
+            unitPrices[size] = product.getUnitPrice();
+            quantities[size] = product.getQuantity();
+            size++;
+        }
+
+        ColumnarSnapshot build() {
+            return new ColumnarSnapshot(this);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.inventory.catalogue;
+
+import com.inventory.cache.InventorySummaryAccumulator;
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ProductDTO;
+import com.inventory.repository.InventoryJdbcRepository;
+import com.inventory.repository.ProductFilter;
+import com.inventory.repository.ProductSortKey;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Optional in-memory copy of the inventory table for listing products
+ * without touching the database ({@code inventory.catalogue.in-memory}).
+ * <p>
+ * Each reload streams the table into a {@link ColumnarSnapshot}, which
+ * sorts row positions once per sortable column and keeps the results as
+ * {@code int[]} permutations. A page is then a slice of one permutation,
+ * read forwards or backwards for the direction. Rows are loaded in id order
+ * and ties keep that order, just like the database sort.
+ */
+@Component
+public class InMemoryCatalogue {
+
+    private final InventoryJdbcRepository inventoryJdbcRepository;
+    private final boolean enabled;
+
+    private volatile ColumnarSnapshot snapshot = ColumnarSnapshot.EMPTY;
+
+    public InMemoryCatalogue(InventoryJdbcRepository inventoryJdbcRepository, InventoryProperties properties) {
+        this.inventoryJdbcRepository = inventoryJdbcRepository;
+        this.enabled = properties.getCatalogue().isInMemory();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+
+        if (!enabled) {
+            return;
+        }
+
+        ColumnarSnapshot.Builder builder = new ColumnarSnapshot.Builder();
+        inventoryJdbcRepository.forEachProduct(builder::add);
+
+        snapshot = builder.build();
+    }
+
+    /**
+     * Summary totals of the loaded rows, computed in the same pass that
+     * built the columns.
+     */
+    public InventorySummaryAccumulator.Totals totals() {
+        return snapshot.totals();
+    }
+
+    public Page<ProductDTO> page(ProductSortKey sortKey, boolean descendingRequested, int page, int size) {
+        return page(sortKey, descendingRequested, page, size, ProductFilter.NONE);
+    }
+
+    /**
+     * Page of the rows matching a resolved {@code filter}. Without a filter
+     * this is a slice of the permutation; with one, the permutation is walked
+     * in order and matching rows are counted, keeping only the requested page.
+     */
+    public Page<ProductDTO> page(
+            ProductSortKey sortKey, boolean descendingRequested, int page, int size, ProductFilter filter) {
+
+        ColumnarSnapshot current = snapshot;
+        int[] order = current.order(sortKey.getProperty());
+        boolean descending = sortKey.isDescending(descendingRequested);
+
+        int total = current.size();
+        long from = (long) page * size;
+        long to = from + size;
+
+        List<ProductDTO> content = new ArrayList<>();
+
+        if (filter.isEmpty()) {
+
+            for (long i = from; i < Math.min(to, total); i++) {
+                content.add(current.product(rowAt(order, (int) i, descending)));
+            }
+
+            return new PageImpl<>(content, PageRequest.of(page, size), total);
+        }
+
+        IntPredicate matches = current.matcher(filter);
+        int matched = 0;
+
+        for (int i = 0; i < total; i++) {
+            int row = rowAt(order, i, descending);
+
+            if (matches.test(row)) {
+                if (matched >= from && matched < to) {
+                    content.add(current.product(row));
+                }
+                matched++;
+            }
+        }
+
+        return new PageImpl<>(content, PageRequest.of(page, size), matched);
+    }
+
+    private static int rowAt(int[] order, int index, boolean descending) {
+        return descending ? order[order.length - 1 - index] : order[index];
+    }
+}
@@ -0,0 +1,102 @@
+package com.inventory.catalogue;
+
+import java.util.*;
+
+/**
+ * Sorted dictionary for one string column: each distinct value is stored
+ * once and rows hold its int code. Codes follow string order, so comparing
+ * codes is the same as comparing the strings.
+ */
+final class StringDictionary {
+
+    private static final Comparator<String> ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final String[] values;
+
+    private StringDictionary(String[] values) {
+        this.values = values;
+    }
+
+    String get(int code) {
+        return values[code];
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    // code of value, or -1 when no row has it
+    int codeOf(String value) {
+        int code = Arrays.binarySearch(values, value, ORDER);
+        return code >= 0 ? code : -1;
+    }
+
+    /**
+     * Codes {@code [from, to)} of the values starting with {@code prefix};
+     * sorted order keeps them contiguous.
+     */
+    int[] prefixRange(String prefix) {
+
+        int from = lowerBound(prefix);
+        int low = from, high = values.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] != null && values[mid].startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return new int[] {from, low};
+    }
+
+    private int lowerBound(String value) {
+        int low = 0, high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ORDER.compare(values[mid], value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static final class Builder {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        // provisional code, in first-seen order until build() re-codes it
+        int add(String value) {
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        /**
+         * Sorts the dictionary and rewrites the first {@code length} entries
+         * of {@code rowCodes} from provisional to sorted codes.
+         */
+        StringDictionary build(int[] rowCodes, int length) {
+
+            String[] sorted = values.toArray(String[]::new);
+            Arrays.parallelSort(sorted, ORDER);
+
+            int[] remap = new int[sorted.length];
+            for (int code = 0; code < sorted.length; code++) {
+                remap[codes.get(sorted[code])] = code;
+            }
+
+            for (int row = 0; row < length; row++) {
+                rowCodes[row] = remap[rowCodes[row]];
+            }
+
+            return new StringDictionary(sorted);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.inventory.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tunables under the {@code inventory.*} prefix in application.yml.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory")
+public class InventoryProperties {
+
+    private final Ingest ingest = new Ingest();
+
+    private final Jobs jobs = new Jobs();
+
+    private final Cache cache = new Cache();
+
+    private final Catalogue catalogue = new Catalogue();
+
+    private final Export export = new Export();
+
+    @Data
+    public static class Ingest {
+
+        // rows per JDBC batch when writing an upload
+        private int batchSize = 1000;
+
+        // parsed rows buffered between the file reader and the batch writer
+        private int queueCapacity = 10_000;
+
+        // row errors listed verbatim in an upload result; the rest are only counted
+        private int maxErrorDetails = 100;
+
+        // full error reports kept on disk for download
+        private int retainedErrorReports = 20;
+    }
+
+    @Data
+    public static class Jobs {
+
+        // uploads run one at a time on the write lock, so more workers only queue there
+        private int workers = 1;
+
+        // submitted uploads allowed to wait before new ones are rejected
+        private int queueCapacity = 16;
+
+        // finished jobs kept for status polling
+        private int retainedJobs = 100;
+    }
+
+    @Data
+    public static class Cache {
+
+        // product rows kept in memory across all cached pages, sort orders and page sizes
+        private long productPageRows = 50_000;
+    }
+
+    @Data
+    public static class Catalogue {
+
+        // serve product listings from an in-memory copy of the table
+        private boolean inMemory = false;
+    }
+
+    @Data
+    public static class Export {
+
+        // rows fetched per round trip when streaming the whole table
+        private int fetchSize = 1000;
+    }
+}
@@ -3,14 +3,26 @@ package com.inventory.controller;
 
 import com.inventory.dto.*;
 import com.inventory.exception.IllegalArgumentException;
+import com.inventory.ingest.UploadMode;
+import com.inventory.ingest.UploadOptions;
+import com.inventory.repository.ProductFilter;
 import com.inventory.service.impl.ProductServiceImpl;
+import com.inventory.util.ExportFormat;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
@@ -24,9 +36,14 @@ public class ProductController {
             consumes = "multipart/form-data"
     )
     public ResponseEntity<ApiResponse<ExcelUploadResultDTO>> uploadExcel(
-            @RequestPart("file") MultipartFile file
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(defaultValue = "replace") String mode,
+            @RequestParam(defaultValue = "false") boolean deleteMissing,
+            @RequestParam(defaultValue = "false") boolean timings,
+            @RequestParam(defaultValue = "false") boolean errorReport
     ) {
-        ExcelUploadResultDTO result = productService.uploadFile(file);
+        ExcelUploadResultDTO result = productService.uploadFile(
+                file, uploadOptions(mode, deleteMissing, timings, errorReport));
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
@@ -39,15 +56,106 @@ public class ProductController {
     }
 
 
+    @PostMapping(
+            value = "/upload",
+            consumes = "multipart/form-data",
+            params = "async=true"
+    )
+    public ResponseEntity<ApiResponse<UploadJobDTO>> uploadExcelAsync(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(defaultValue = "replace") String mode,
+            @RequestParam(defaultValue = "false") boolean deleteMissing,
+            @RequestParam(defaultValue = "false") boolean timings,
+            @RequestParam(defaultValue = "false") boolean errorReport
+    ) {
+        UploadJobDTO job = productService.submitUpload(
+                file, uploadOptions(mode, deleteMissing, timings, errorReport));
+
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.<UploadJobDTO>builder()
+                        .success(true)
+                        .message("Upload accepted for processing")
+                        .data(job)
+                        .timestamp(LocalDateTime.now())
+                        .build());
+    }
+
+
+    @GetMapping("/upload/errors/{reportId}")
+    public ResponseEntity<Resource> errorReport(
+            @PathVariable String reportId
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"upload-errors-" + reportId + ".txt\"")
+                .body(new FileSystemResource(productService.getErrorReport(reportId)));
+    }
+
+
+    @GetMapping("/upload/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<UploadJobDTO>> uploadStatus(
+            @PathVariable String jobId
+    ) {
+        return ResponseEntity.ok(
+                ApiResponse.<UploadJobDTO>builder()
+                        .success(true)
+                        .message("Upload status fetched successfully")
+                        .data(productService.getUploadJob(jobId))
+                        .timestamp(LocalDateTime.now())
+                        .build()
+        );
+    }
+
+
     @GetMapping
     public ResponseEntity<ApiResponse<PageResponseDTO<ProductDTO>>> getProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "productName") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String skuPrefix,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate purchasedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate purchasedTo,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer minStockAge
+    ) throws IllegalArgumentException {
+        ProductFilter filter = ProductFilter.builder()
+                .category(category)
+                .skuPrefix(skuPrefix)
+                .purchasedFrom(purchasedFrom)
+                .purchasedTo(purchasedTo)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minStockAge(minStockAge)
+                .build();
+
+        PageResponseDTO<ProductDTO> response =
+                productService.getProducts(page, size, sortBy, direction, filter);
+
+        return ResponseEntity.ok(
+                ApiResponse.<PageResponseDTO<ProductDTO>>builder()
+                        .success(true)
+                        .message("Products fetched successfully")
+                        .data(response)
+                        .timestamp(LocalDateTime.now())
+                        .build()
+        );
+    }
+
+
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<PageResponseDTO<ProductDTO>>> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "productName") String sortBy,
             @RequestParam(defaultValue = "asc") String direction
     ) throws IllegalArgumentException {
         PageResponseDTO<ProductDTO> response =
-                productService.getProducts(page, size, sortBy, direction);
+                productService.scrollProducts(cursor, size, sortBy, direction);
 
         return ResponseEntity.ok(
                 ApiResponse.<PageResponseDTO<ProductDTO>>builder()
@@ -60,6 +168,38 @@ public class ProductController {
     }
 
 
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<ProductDTO>>> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit
+    ) throws IllegalArgumentException {
+
+        return ResponseEntity.ok(
+                ApiResponse.<List<ProductDTO>>builder()
+                        .success(true)
+                        .message("Products fetched successfully")
+                        .data(productService.searchProducts(query, limit))
+                        .timestamp(LocalDateTime.now())
+                        .build()
+        );
+    }
+
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "csv") String format
+    ) throws IllegalArgumentException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> productService.exportProducts(exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"inventory." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+
     @GetMapping("/summary")
     public ResponseEntity<ApiResponse<ProductSummaryDTO>> summary() {
 
@@ -73,6 +213,32 @@ public class ProductController {
         );
     }
 
+    @GetMapping("/summary/by-category")
+    public ResponseEntity<ApiResponse<List<CategorySummaryDTO>>> summaryByCategory() {
+
+        return ResponseEntity.ok(
+                ApiResponse.<List<CategorySummaryDTO>>builder()
+                        .success(true)
+                        .message("Category summary fetched successfully")
+                        .data(productService.getCategorySummary())
+                        .timestamp(LocalDateTime.now())
+                        .build()
+        );
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<CacheStatsDTO>> pageCacheStats() {
+
+        return ResponseEntity.ok(
+                ApiResponse.<CacheStatsDTO>builder()
+                        .success(true)
+                        .message("Page cache statistics fetched successfully")
+                        .data(productService.getPageCacheStats())
+                        .timestamp(LocalDateTime.now())
+                        .build()
+        );
+    }
+
     @DeleteMapping("/clear")
     public ResponseEntity<ApiResponse<Void>> clearInventoryDb() {
         productService.clearInventoryDb();
@@ -85,4 +251,14 @@ public class ProductController {
                         .build()
         );
     }
+
+    private static UploadOptions uploadOptions(
+            String mode, boolean deleteMissing, boolean timings, boolean errorReport) {
+        return UploadOptions.builder()
+                .mode(UploadMode.from(mode))
+                .deleteMissing(deleteMissing)
+                .timings(timings)
+                .errorReport(errorReport)
+                .build();
+    }
 }
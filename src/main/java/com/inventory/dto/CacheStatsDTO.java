@@ -0,0 +1,15 @@
+package com.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CacheStatsDTO {
+
+    private long entries;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+}
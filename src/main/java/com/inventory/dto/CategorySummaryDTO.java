@@ -0,0 +1,15 @@
+package com.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CategorySummaryDTO {
+
+    private String category;
+    private int totalProducts;
+    private double totalInventoryValue;
+    private double averageUnitPrice;
+    private double averageStockAge;
+}
@@ -1,9 +1,11 @@
 package com.inventory.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -12,5 +14,23 @@ public class ExcelUploadResultDTO {
     private int totalRows;
     private int successCount;
     private int failedCount;
+    // the first errors in file order, up to the configured limit
     private List<String> errors;
+
+    // failed rows per error type, across the whole file
+    private Map<String, Integer> errorCounts;
+
+    // true when more rows failed than are listed in errors
+    private boolean errorsTruncated;
+
+    // download id of the full error report, when one was requested and rows failed
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String errorReportId;
+
+    // rows removed because a merge upload with deleteMissing did not contain them
+    private int deletedCount;
+
+    // only present when the upload asked for timings
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UploadTimingsDTO timings;
 }
@@ -15,5 +15,8 @@ public class PageResponseDTO<T> {
     private long totalElements;
     private int totalPages;
     private boolean last;
+
+    // set by the scroll endpoint only; page and totals are not computed there
+    private String nextCursor;
 }
 
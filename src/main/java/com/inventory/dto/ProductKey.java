@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Business key of an inventory row, matching the (productSku, purchaseDate)
+ * unique constraint on the table.
+ */
+@Value
+public class ProductKey {
+
+    String productSku;
+    LocalDate purchaseDate;
+
+    public static ProductKey of(ProductDTO product) {
+        return new ProductKey(product.getProductSku(), product.getPurchaseDate());
+    }
+}
@@ -0,0 +1,28 @@
+package com.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class UploadJobDTO {
+
+    private String jobId;
+    private String status;
+
+    // progress so far; final once status is COMPLETED or FAILED
+    private int rowsParsed;
+    private int rowsPersisted;
+    private int rowsFailed;
+
+    // set when status is COMPLETED
+    private ExcelUploadResultDTO result;
+
+    // set when status is FAILED
+    private String error;
+
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+}
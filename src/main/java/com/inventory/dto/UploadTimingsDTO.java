@@ -0,0 +1,25 @@
+package com.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UploadTimingsDTO {
+
+    private long totalMs;
+
+    // reader wall time, including validation and time blocked on a full queue
+    private long parseMs;
+    private long validationMs;
+    private long duplicateCheckMs;
+    private long persistMs;
+
+    // replace uploads only: copying the staging table into the live table
+    private long publishMs;
+
+    private double rowsPerSecond;
+
+    // most rows held between the reader and the writer at once
+    private int peakBufferedRows;
+}
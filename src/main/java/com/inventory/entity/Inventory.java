@@ -10,6 +10,14 @@ import java.time.LocalDate;
         name = "inventory",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"productSku", "purchaseDate"})
+        },
+        indexes = {
+                @Index(name = "idx_inventory_product_name", columnList = "productName, id"),
+                @Index(name = "idx_inventory_purchase_date", columnList = "purchaseDate, id"),
+                @Index(name = "idx_inventory_unit_price", columnList = "unitPrice, id"),
+                @Index(name = "idx_inventory_quantity", columnList = "quantity, id"),
+                @Index(name = "idx_inventory_value", columnList = "inventoryValue, id"),
+                @Index(name = "idx_inventory_category", columnList = "category")
         }
 )
 @Getter
@@ -29,4 +37,13 @@ public class Inventory {
     private LocalDate purchaseDate;
     private double unitPrice;
     private int quantity;
+
+    // unitPrice * quantity, stored so sorting by value can use an index
+    private double inventoryValue;
+
+    @PrePersist
+    @PreUpdate
+    void computeInventoryValue() {
+        inventoryValue = unitPrice * quantity;
+    }
 }
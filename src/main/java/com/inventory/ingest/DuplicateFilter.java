@@ -0,0 +1,48 @@
+package com.inventory.ingest;
+
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductKey;
+
+import java.util.*;
+
+/**
+ * Drops rows whose (SKU, purchase date) was already seen earlier in the same
+ * upload, reporting each one instead of failing the upload.
+ * <p>
+ * One instance per upload: it remembers every key it has let through, so it
+ * also catches duplicates that arrive in different chunks.
+ */
+public class DuplicateFilter {
+
+    // error type under which duplicates are counted
+    public static final String DUPLICATE_ERROR = "Duplicate Product SKU + Purchase Date";
+
+    private final Set<ProductKey> seen = new HashSet<>();
+
+    public List<ProductDTO> filter(List<ProductDTO> rows, List<String> errors) {
+
+        List<ProductDTO> unique = new ArrayList<>(rows.size());
+
+        for (ProductDTO dto : rows) {
+            if (seen.add(ProductKey.of(dto))) {
+                unique.add(dto);
+            } else {
+                errors.add(duplicateMessage(dto));
+            }
+        }
+
+        return unique;
+    }
+
+    /**
+     * Every key let through so far, i.e. the keys this upload delivers.
+     */
+    public Set<ProductKey> seenKeys() {
+        return Collections.unmodifiableSet(seen);
+    }
+
+    private static String duplicateMessage(ProductDTO dto) {
+        return DUPLICATE_ERROR + ": "
+                + dto.getProductSku() + " - " + dto.getPurchaseDate();
+    }
+}
@@ -0,0 +1,80 @@
+package com.inventory.ingest;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Full error reports of recent uploads, kept as temp files for download.
+ * Only the most recent {@code retainedErrorReports} are kept; older files
+ * are deleted as new ones arrive.
+ */
+@Slf4j
+@Component
+public class ErrorReportStore {
+
+    private final Map<String, Path> reports = new LinkedHashMap<>();
+    private final int retained;
+
+    public ErrorReportStore(InventoryProperties properties) {
+        this.retained = properties.getIngest().getRetainedErrorReports();
+    }
+
+    public Path newReportFile() {
+        try {
+            return Files.createTempFile("inventory-errors-", ".txt");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create error report", e);
+        }
+    }
+
+    public synchronized String register(Path report) {
+
+        String id = UUID.randomUUID().toString();
+        reports.put(id, report);
+
+        Iterator<Path> oldest = reports.values().iterator();
+        while (reports.size() > retained) {
+            deleteQuietly(oldest.next());
+            oldest.remove();
+        }
+
+        return id;
+    }
+
+    public synchronized Path get(String reportId) {
+
+        Path report = reports.get(reportId);
+
+        if (report == null) {
+            throw new ResourceNotFoundException("Error report not found: " + reportId);
+        }
+
+        return report;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        reports.values().forEach(ErrorReportStore::deleteQuietly);
+        reports.clear();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete error report {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.inventory.ingest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the upload path, scraped from
+ * {@code /actuator/prometheus}.
+ * <p>
+ * Stage timers publish histogram buckets so percentiles can be aggregated
+ * across instances. {@link Stage#PARSE} is the reader's wall time, including
+ * validation and any time spent blocked on a full queue. {@link Stage#DEDUPE}
+ * and {@link Stage#PERSIST} are recorded once per batch.
+ */
+@Component
+public class IngestMetrics {
+
+    public enum Stage {
+        PARSE, DEDUPE, PERSIST, PUBLISH
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final DistributionSummary fileSize;
+    private final Counter rowsPersisted;
+    private final Counter rowsFailed;
+
+    public IngestMetrics(MeterRegistry registry) {
+
+        this.registry = registry;
+
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("inventory.ingest.stage")
+                    .description("Time spent in one stage of an upload")
+                    .tag("stage", stage.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+
+        this.fileSize = DistributionSummary.builder("inventory.upload.file.size")
+                .description("Size of uploaded files")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        this.rowsPersisted = rowCounter("persisted");
+        this.rowsFailed = rowCounter("failed");
+    }
+
+    public void fileReceived(long bytes) {
+        fileSize.record(bytes);
+    }
+
+    public void record(Stage stage, long nanos) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Times a whole upload, tagged with its mode and whether it completed.
+     */
+    public <T> T timeUpload(UploadMode mode, Supplier<T> upload) {
+
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+
+        try {
+            T result = upload.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("inventory.upload")
+                    .description("End-to-end upload time")
+                    .tag("mode", mode.name().toLowerCase())
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    public void rowsProcessed(int persisted, int failed) {
+        rowsPersisted.increment(persisted);
+        rowsFailed.increment(failed);
+    }
+
+    private Counter rowCounter(String result) {
+        return Counter.builder("inventory.ingest.rows")
+                .description("Rows processed by uploads")
+                .tag("result", result)
+                .register(registry);
+    }
+}
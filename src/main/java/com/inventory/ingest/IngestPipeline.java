@@ -0,0 +1,157 @@
+package com.inventory.ingest;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ExcelUploadResultDTO;
+import com.inventory.dto.ProductDTO;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs a {@link RowSource} on its own (virtual) thread and hands its rows to
+ * a batch writer on the calling thread through a bounded queue.
+ * <p>
+ * Parsing overlaps with database writes, and at most {@code queueCapacity}
+ * rows plus one batch are buffered whatever the file size. The writer runs
+ * on the caller's thread so it takes part in the caller's transaction. If
+ * the writer fails the reader is interrupted; if the reader fails its
+ * exception is rethrown here before the last partial batch is written.
+ * Either way {@link #run} waits for the reader to finish before returning,
+ * so it is no longer touching the upload stream or the error collector once
+ * the caller releases its lock.
+ */
+public class IngestPipeline {
+
+    private static final ProductDTO END_OF_INPUT = ProductDTO.builder().build();
+
+    // a reader blocked on a socket read ignores interrupts, so do not wait forever
+    private static final Duration READER_STOP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final int batchSize;
+    private final int queueCapacity;
+    private final UploadTimings timings;
+
+    public IngestPipeline(InventoryProperties.Ingest settings) {
+        this(settings, null);
+    }
+
+    // timings, when not null, receive the buffered row count before each batch is written
+    public IngestPipeline(InventoryProperties.Ingest settings, UploadTimings timings) {
+        this.batchSize = settings.getBatchSize();
+        this.queueCapacity = settings.getQueueCapacity();
+        this.timings = timings;
+    }
+
+    public ExcelUploadResultDTO run(RowSource source, Consumer<List<ProductDTO>> batchWriter) {
+
+        BlockingQueue<ProductDTO> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<ExcelUploadResultDTO> result = new AtomicReference<>();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        Thread reader = Thread.ofVirtual().name("ingest-reader").start(() -> {
+            try {
+                result.set(source.readInto(row -> put(queue, row)));
+            } catch (RuntimeException e) {
+                failure.set(e);
+            } finally {
+                try {
+                    queue.put(END_OF_INPUT);
+                } catch (InterruptedException e) {
+                    // the writer gave up and is no longer draining the queue
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        RuntimeException thrown = null;
+
+        try {
+            List<ProductDTO> batch = new ArrayList<>(batchSize);
+
+            for (ProductDTO row = queue.take(); row != END_OF_INPUT; row = queue.take()) {
+                batch.add(row);
+
+                if (batch.size() == batchSize) {
+                    recordBuffered(batch, queue);
+                    batchWriter.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+
+            if (!batch.isEmpty()) {
+                recordBuffered(batch, queue);
+                batchWriter.accept(batch);
+            }
+
+            return result.get();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            thrown = new IllegalStateException("Upload was interrupted", e);
+            throw thrown;
+        } catch (RuntimeException e) {
+            thrown = e;
+            throw e;
+        } finally {
+            stopReader(reader, failure, thrown);
+        }
+    }
+
+    /**
+     * Interrupts the reader and waits for it. A failure the reader recorded
+     * on its way out, usually the cancellation caused by the interrupt, is
+     * attached to {@code thrown}.
+     */
+    private static void stopReader(
+            Thread reader,
+            AtomicReference<RuntimeException> failure,
+            RuntimeException thrown
+    ) {
+
+        // no-op when the reader has already finished
+        reader.interrupt();
+
+        try {
+            reader.join(READER_STOP_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        RuntimeException readerFailure = failure.get();
+        if (thrown != null && readerFailure != null && readerFailure != thrown) {
+            thrown.addSuppressed(readerFailure);
+        }
+
+        if (reader.isAlive()) {
+            IllegalStateException stuck = new IllegalStateException("Upload reader did not stop");
+            if (thrown == null) {
+                throw stuck;
+            }
+            thrown.addSuppressed(stuck);
+        }
+    }
+
+    private void recordBuffered(List<ProductDTO> batch, BlockingQueue<ProductDTO> queue) {
+        if (timings != null) {
+            timings.bufferedRows(batch.size() + queue.size());
+        }
+    }
+
+    private static void put(BlockingQueue<ProductDTO> queue, ProductDTO row) {
+        try {
+            queue.put(row);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Upload was cancelled", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.inventory.ingest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live row counters for one upload, updated by the reader and writer threads
+ * and read by anyone polling the upload's progress.
+ */
+public class IngestStats {
+
+    private final AtomicInteger parsed = new AtomicInteger();
+    private final AtomicInteger persisted = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public void rowParsed() {
+        parsed.incrementAndGet();
+    }
+
+    public void rowsPersisted(int rows) {
+        persisted.addAndGet(rows);
+    }
+
+    public void rowsFailed(int rows) {
+        failed.addAndGet(rows);
+    }
+
+    public int getParsed() {
+        return parsed.get();
+    }
+
+    public int getPersisted() {
+        return persisted.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+}
@@ -0,0 +1,129 @@
+package com.inventory.ingest;
+
+import com.inventory.dto.ExcelUploadResultDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row errors for one upload, kept in constant memory: the first
+ * {@code detailLimit} messages verbatim and a count per error type.
+ * <p>
+ * When a report file is given, every message is also appended to it, so the
+ * full list can be downloaded without ever holding it in memory. Readers and
+ * the batch writer report from different threads, hence the locking.
+ */
+public class RowErrorCollector {
+
+    public static final int DEFAULT_DETAIL_LIMIT = 100;
+
+    private final int detailLimit;
+    private final List<String> details = new ArrayList<>();
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+    private final Path reportFile;
+    private final Writer report;
+    private int total;
+
+    public RowErrorCollector(int detailLimit) {
+        this.detailLimit = detailLimit;
+        this.reportFile = null;
+        this.report = null;
+    }
+
+    public RowErrorCollector(int detailLimit, Path reportFile) {
+        this.detailLimit = detailLimit;
+        this.reportFile = reportFile;
+        try {
+            this.report = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            deleteQuietly(reportFile);
+            throw new UncheckedIOException("Could not create error report", e);
+        }
+    }
+
+    /**
+     * Records one failed row. {@code type} groups the counts, so it must not
+     * contain row-specific values; {@code detail} is the full message.
+     */
+    public synchronized void add(String type, String detail) {
+
+        total++;
+        counts.merge(type, 1, Integer::sum);
+
+        if (details.size() < detailLimit) {
+            details.add(detail);
+        }
+
+        if (report != null) {
+            try {
+                report.write(detail);
+                report.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write error report", e);
+            }
+        }
+    }
+
+    public synchronized int count() {
+        return total;
+    }
+
+    public synchronized void applyTo(ExcelUploadResultDTO result) {
+        result.setErrors(new ArrayList<>(details));
+        result.setErrorCounts(new LinkedHashMap<>(counts));
+        result.setErrorsTruncated(total > details.size());
+    }
+
+    /**
+     * Closes the report and returns its file, or null when there is no
+     * report or nothing was written to it (the empty file is deleted).
+     */
+    public synchronized Path finishReport() {
+
+        if (report == null) {
+            return null;
+        }
+
+        try {
+            report.close();
+            if (total == 0) {
+                Files.deleteIfExists(reportFile);
+                return null;
+            }
+            return reportFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write error report", e);
+        }
+    }
+
+    // for failed uploads: the partial report is of no use
+    public synchronized void discardReport() {
+
+        if (report == null) {
+            return;
+        }
+
+        try {
+            report.close();
+        } catch (IOException ignored) {
+            // the file is deleted either way
+        }
+        deleteQuietly(reportFile);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // temp directory cleanup will get it
+        }
+    }
+}
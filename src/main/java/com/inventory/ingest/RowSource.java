@@ -0,0 +1,16 @@
+package com.inventory.ingest;
+
+import com.inventory.dto.ExcelUploadResultDTO;
+import com.inventory.dto.ProductDTO;
+
+import java.util.function.Consumer;
+
+/**
+ * A file reader bound to its input: pushes every valid row into the sink and
+ * returns the row counts once the whole file has been read.
+ */
+@FunctionalInterface
+public interface RowSource {
+
+    ExcelUploadResultDTO readInto(Consumer<ProductDTO> sink);
+}
@@ -0,0 +1,64 @@
+package com.inventory.ingest;
+
+import com.inventory.dto.ExcelUploadResultDTO;
+import com.inventory.dto.UploadJobDTO;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One asynchronous upload. Its state is written by the worker running it and
+ * read by status requests, hence the volatile fields.
+ */
+@Getter
+public class UploadJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final IngestStats stats = new IngestStats();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile ExcelUploadResultDTO result;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    UploadJob(String id) {
+        this.id = id;
+    }
+
+    void started() {
+        status = Status.RUNNING;
+    }
+
+    void completed(ExcelUploadResultDTO result) {
+        this.result = result;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public UploadJobDTO toDTO() {
+        return UploadJobDTO.builder()
+                .jobId(id)
+                .status(status.name())
+                .rowsParsed(stats.getParsed())
+                .rowsPersisted(stats.getPersisted())
+                .rowsFailed(stats.getFailed())
+                .result(result)
+                .error(error)
+                .submittedAt(submittedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.inventory.ingest;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ExcelUploadResultDTO;
+import com.inventory.exception.DuplicateProductException;
+import com.inventory.exception.InvalidExcelException;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.exception.UploadJobRejectedException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs uploads off the request thread and keeps their status for polling.
+ * <p>
+ * Jobs run on a fixed number of virtual-thread workers behind a bounded
+ * queue; when the queue is full new jobs are rejected rather than piling up
+ * temp files. Only the most recent {@code retainedJobs} finished jobs are
+ * kept.
+ */
+@Slf4j
+@Component
+public class UploadJobRegistry {
+
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final int retainedJobs;
+
+    public UploadJobRegistry(InventoryProperties properties) {
+
+        InventoryProperties.Jobs settings = properties.getJobs();
+
+        this.retainedJobs = settings.getRetainedJobs();
+        this.executor = new ThreadPoolExecutor(
+                settings.getWorkers(),
+                settings.getWorkers(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                Thread.ofVirtual().name("upload-job-", 0).factory()
+        );
+    }
+
+    /**
+     * Queues {@code work} and returns its job straight away. The function
+     * receives the job's live counters and returns the final upload result.
+     */
+    public UploadJob submit(Function<IngestStats, ExcelUploadResultDTO> work) {
+
+        evictFinishedJobs();
+
+        UploadJob job = new UploadJob(UUID.randomUUID().toString());
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> run(job, work));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new UploadJobRejectedException("Too many uploads in progress, try again later");
+        }
+
+        return job;
+    }
+
+    public UploadJob get(String jobId) {
+
+        UploadJob job = jobs.get(jobId);
+
+        if (job == null) {
+            throw new ResourceNotFoundException("Upload job not found: " + jobId);
+        }
+
+        return job;
+    }
+
+    private void run(UploadJob job, Function<IngestStats, ExcelUploadResultDTO> work) {
+
+        job.started();
+
+        try {
+            job.completed(work.apply(job.getStats()));
+        } catch (InvalidExcelException | DuplicateProductException e) {
+            job.failed(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Upload job {} failed", job.getId(), e);
+            job.failed("Upload failed");
+        }
+    }
+
+    private void evictFinishedJobs() {
+
+        long finished = jobs.values().stream().filter(UploadJob::isFinished).count();
+
+        if (finished <= retainedJobs) {
+            return;
+        }
+
+        // oldest first; racing submitters may evict a few extra, which is harmless
+        Iterator<UploadJob> oldest = jobs.values().stream()
+                .filter(UploadJob::isFinished)
+                .sorted((a, b) -> a.getFinishedAt().compareTo(b.getFinishedAt()))
+                .iterator();
+
+        for (long excess = finished - retainedJobs; excess > 0 && oldest.hasNext(); excess--) {
+            jobs.remove(oldest.next().getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
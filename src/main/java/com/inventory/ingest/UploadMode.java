@@ -0,0 +1,27 @@
+package com.inventory.ingest;
+
+import com.inventory.exception.InvalidExcelException;
+
+/**
+ * How an upload is applied to the table.
+ */
+public enum UploadMode {
+
+    // the file becomes the whole table
+    REPLACE,
+
+    // rows are upserted on (productSku, purchaseDate); other rows are kept
+    // unless the upload asks for missing rows to be deleted
+    MERGE;
+
+    public static UploadMode from(String value) {
+
+        for (UploadMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+
+        throw new InvalidExcelException("Upload mode must be replace or merge");
+    }
+}
@@ -0,0 +1,26 @@
+package com.inventory.ingest;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Per-upload switches passed from the upload endpoints to the service.
+ */
+@Value
+@Builder
+public class UploadOptions {
+
+    public static final UploadOptions DEFAULT = UploadOptions.builder().build();
+
+    @Builder.Default
+    UploadMode mode = UploadMode.REPLACE;
+
+    // merge only: delete rows the file does not contain
+    boolean deleteMissing;
+
+    // add a stage timing breakdown to the result
+    boolean timings;
+
+    // write every row error to a downloadable report, not just the first few
+    boolean errorReport;
+}
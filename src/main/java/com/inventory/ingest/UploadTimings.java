@@ -0,0 +1,71 @@
+package com.inventory.ingest;
+
+import com.inventory.dto.UploadTimingsDTO;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stage timings for one upload, collected only when the caller asks for
+ * them. Readers and the pipeline take a nullable instance and skip the
+ * clock reads entirely when it is absent.
+ * <p>
+ * Validation time is summed across parser threads, so for a CSV parsed in
+ * parallel it can exceed the parse wall time.
+ */
+public class UploadTimings {
+
+    private final long startedAt = System.nanoTime();
+
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder validationNanos = new LongAdder();
+    private final LongAdder duplicateCheckNanos = new LongAdder();
+    private final LongAdder persistNanos = new LongAdder();
+    private final LongAdder publishNanos = new LongAdder();
+    private final AtomicInteger peakBufferedRows = new AtomicInteger();
+
+    public void addParse(long nanos) {
+        parseNanos.add(nanos);
+    }
+
+    public void addValidation(long nanos) {
+        validationNanos.add(nanos);
+    }
+
+    public void addDuplicateCheck(long nanos) {
+        duplicateCheckNanos.add(nanos);
+    }
+
+    public void addPersist(long nanos) {
+        persistNanos.add(nanos);
+    }
+
+    public void addPublish(long nanos) {
+        publishNanos.add(nanos);
+    }
+
+    public void bufferedRows(int rows) {
+        peakBufferedRows.accumulateAndGet(rows, Math::max);
+    }
+
+    public UploadTimingsDTO toDTO(int persistedRows) {
+
+        long totalNanos = System.nanoTime() - startedAt;
+
+        return UploadTimingsDTO.builder()
+                .totalMs(millis(totalNanos))
+                .parseMs(millis(parseNanos.sum()))
+                .validationMs(millis(validationNanos.sum()))
+                .duplicateCheckMs(millis(duplicateCheckNanos.sum()))
+                .persistMs(millis(persistNanos.sum()))
+                .publishMs(millis(publishNanos.sum()))
+                .rowsPerSecond(totalNanos == 0 ? 0 : persistedRows * 1e9 / totalNanos)
+                .peakBufferedRows(peakBufferedRows.get())
+                .build();
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -25,6 +25,21 @@ public class ProductMapper {
                 .build();
     }
 
+    // the stored row with today's stock age; the input is left untouched
+    public static ProductDTO enrich(ProductDTO product) {
+
+        return ProductDTO.builder()
+                .productSku(product.getProductSku())
+                .productName(product.getProductName())
+                .category(product.getCategory())
+                .purchaseDate(product.getPurchaseDate())
+                .unitPrice(product.getUnitPrice())
+                .quantity(product.getQuantity())
+                .stockAge(calculateStockAge(product.getPurchaseDate()))
+                .inventoryValue(product.getUnitPrice() * product.getQuantity())
+                .build();
+    }
+
     public static long calculateStockAge(LocalDate purchaseDate) {
         return ChronoUnit.DAYS.between(purchaseDate, LocalDate.now());
     }
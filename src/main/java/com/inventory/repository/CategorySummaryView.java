@@ -0,0 +1,18 @@
+package com.inventory.repository;
+
+/**
+ * One row per category, see {@link InventoryRepository#summarizeByCategory()}.
+ */
+public interface CategorySummaryView {
+
+    String getCategory();
+
+    Long getTotalProducts();
+
+    Double getTotalInventoryValue();
+
+    Double getAverageUnitPrice();
+
+    // sum of purchaseDate as days since 1970-01-01
+    Long getPurchaseEpochDaySum();
+}
@@ -0,0 +1,243 @@
+package com.inventory.repository;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Bulk writes that bypass the JPA persistence context. IDENTITY keys keep
+ * Hibernate from batching inserts, so uploads go through JDBC batches here
+ * and let the database assign ids.
+ * <p>
+ * Full replaces are loaded into {@code inventory_staging} first and copied
+ * into the live table with one {@code INSERT ... SELECT}; callers serialize
+ * uploads, so a single staging table is enough. The copy writes every row a
+ * second time and maintains the live table's indexes row by row. H2 has no
+ * transactional rename (its DDL commits on its own), so this is the price of
+ * readers never seeing the table half-loaded.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryJdbcRepository {
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TABLE IF NOT EXISTS inventory_staging (
+                product_sku VARCHAR(255) NOT NULL,
+                product_name VARCHAR(255),
+                category VARCHAR(255),
+                purchase_date DATE NOT NULL,
+                unit_price DOUBLE PRECISION NOT NULL,
+                quantity INTEGER NOT NULL,
+                inventory_value DOUBLE PRECISION NOT NULL,
+                PRIMARY KEY (product_sku, purchase_date)
+            )
+            """;
+
+    private static final String STAGE_SQL = """
+            INSERT INTO inventory_staging
+                (product_sku, product_name, category, purchase_date, unit_price, quantity, inventory_value)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String PUBLISH_STAGING_SQL = """
+            INSERT INTO inventory
+                (product_sku, product_name, category, purchase_date, unit_price, quantity, inventory_value)
+            SELECT product_sku, product_name, category, purchase_date, unit_price, quantity, inventory_value
+            FROM inventory_staging
+            """;
+
+    // inserts new keys and rewrites existing ones only when a value actually changed
+    private static final String MERGE_SQL = """
+            MERGE INTO inventory t
+            USING (SELECT CAST(? AS VARCHAR) AS product_sku,
+                          CAST(? AS VARCHAR) AS product_name,
+                          CAST(? AS VARCHAR) AS category,
+                          CAST(? AS DATE) AS purchase_date,
+                          CAST(? AS DOUBLE PRECISION) AS unit_price,
+                          CAST(? AS INTEGER) AS quantity) s
+            ON t.product_sku = s.product_sku AND t.purchase_date = s.purchase_date
+            WHEN MATCHED AND (t.product_name IS DISTINCT FROM s.product_name
+                              OR t.category IS DISTINCT FROM s.category
+                              OR t.unit_price <> s.unit_price
+                              OR t.quantity <> s.quantity) THEN
+                UPDATE SET product_name = s.product_name,
+                           category = s.category,
+                           unit_price = s.unit_price,
+                           quantity = s.quantity,
+                           inventory_value = s.unit_price * s.quantity
+            WHEN NOT MATCHED THEN
+                INSERT (product_sku, product_name, category, purchase_date, unit_price, quantity, inventory_value)
+                VALUES (s.product_sku, s.product_name, s.category, s.purchase_date,
+                        s.unit_price, s.quantity, s.unit_price * s.quantity)
+            """;
+
+    private static final String SELECT_ALL_SQL = """
+            SELECT product_sku, product_name, category, purchase_date, unit_price, quantity
+            FROM inventory
+            ORDER BY id
+            """;
+
+    private static final String SELECT_SEARCH_KEYS_SQL = """
+            SELECT id, product_sku, product_name
+            FROM inventory
+            ORDER BY id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryProperties properties;
+
+    /**
+     * Creates the staging table if needed and empties it. DDL commits in H2,
+     * so call this outside any transaction.
+     */
+    public void resetStaging() {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        clearStaging();
+    }
+
+    public void clearStaging() {
+        jdbcTemplate.execute("TRUNCATE TABLE inventory_staging");
+    }
+
+    public void stageAll(Collection<ProductDTO> products) {
+
+        jdbcTemplate.batchUpdate(
+                STAGE_SQL,
+                products,
+                properties.getIngest().getBatchSize(),
+                (ps, dto) -> {
+                    ps.setString(1, dto.getProductSku());
+                    ps.setString(2, dto.getProductName());
+                    ps.setString(3, dto.getCategory());
+                    ps.setObject(4, dto.getPurchaseDate());
+                    ps.setDouble(5, dto.getUnitPrice());
+                    ps.setInt(6, dto.getQuantity());
+                    ps.setDouble(7, dto.getUnitPrice() * dto.getQuantity());
+                }
+        );
+    }
+
+    /**
+     * Copies the staging table into the live table and returns the row count.
+     * Runs in the caller's transaction and takes time proportional to the
+     * number of staged rows.
+     */
+    public int publishStaging() {
+        return jdbcTemplate.update(PUBLISH_STAGING_SQL);
+    }
+
+    /**
+     * Upserts on (productSku, purchaseDate) in JDBC batches; unchanged rows
+     * are matched but not rewritten.
+     */
+    public void mergeAll(Collection<ProductDTO> products) {
+
+        jdbcTemplate.batchUpdate(
+                MERGE_SQL,
+                products,
+                properties.getIngest().getBatchSize(),
+                (ps, dto) -> {
+                    ps.setString(1, dto.getProductSku());
+                    ps.setString(2, dto.getProductName());
+                    ps.setString(3, dto.getCategory());
+                    ps.setObject(4, dto.getPurchaseDate());
+                    ps.setDouble(5, dto.getUnitPrice());
+                    ps.setInt(6, dto.getQuantity());
+                }
+        );
+    }
+
+    /**
+     * Deletes every row whose key is not in {@code keep} and returns how many
+     * were removed. Keys are compared in memory during one scan of the table,
+     * then the matching rows are deleted by id in batches.
+     */
+    public int deleteAllExcept(Set<ProductKey> keep) {
+
+        List<Long> missing = new ArrayList<>();
+
+        jdbcTemplate.query(
+                "SELECT id, product_sku, purchase_date FROM inventory",
+                (RowCallbackHandler) rs -> {
+                    ProductKey key = new ProductKey(rs.getString(2), rs.getObject(3, LocalDate.class));
+                    if (!keep.contains(key)) {
+                        missing.add(rs.getLong(1));
+                    }
+                }
+        );
+
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM inventory WHERE id = ?",
+                missing,
+                properties.getIngest().getBatchSize(),
+                (ps, id) -> ps.setLong(1, id)
+        );
+
+        return missing.size();
+    }
+
+    /**
+     * Streams every row in id order without building entities, reading a
+     * forward-only cursor {@code fetchSize} rows at a time, so memory stays
+     * flat whatever the table size.
+     */
+    public void forEachProduct(Consumer<ProductDTO> consumer) {
+
+        int fetchSize = properties.getExport().getFetchSize();
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            SELECT_ALL_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> consumer.accept(ProductDTO.builder()
+                        .productSku(rs.getString(1))
+                        .productName(rs.getString(2))
+                        .category(rs.getString(3))
+                        .purchaseDate(rs.getObject(4, LocalDate.class))
+                        .unitPrice(rs.getDouble(5))
+                        .quantity(rs.getInt(6))
+                        .inventoryValue(rs.getDouble(5) * rs.getInt(6))
+                        .build())
+        );
+    }
+
+    /**
+     * Streams the id, SKU and name of every row in id order, for in-memory
+     * indexes that do not need the other columns.
+     */
+    public void forEachSearchKey(SearchKeyConsumer consumer) {
+
+        int fetchSize = properties.getExport().getFetchSize();
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            SELECT_SEARCH_KEYS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getString(2), rs.getString(3))
+        );
+    }
+
+    @FunctionalInterface
+    public interface SearchKeyConsumer {
+        void accept(long id, String productSku, String productName);
+    }
+}
@@ -3,14 +3,36 @@ package com.inventory.repository;
 import com.inventory.entity.Inventory;
 import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
-import java.time.LocalDate;
+import java.util.List;
 
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends
+        JpaRepository<Inventory, Long>,
+        JpaSpecificationExecutor<Inventory>,
+        InventoryRepositoryCustom {
 
-    boolean existsByProductSkuAndPurchaseDate(String productSku, LocalDate purchaseDate);
+    @Query(value = """
+            SELECT COUNT(*) AS "totalProducts",
+                   COALESCE(SUM(inventory_value), 0) AS "totalInventoryValue",
+                   CAST(COALESCE(SUM(DATEDIFF(DAY, DATE '1970-01-01', purchase_date)), 0) AS BIGINT) AS "purchaseEpochDaySum"
+            FROM inventory
+            """, nativeQuery = true)
+    InventorySummaryView summarize();
+
+    @Query(value = """
+            SELECT category AS "category",
+                   COUNT(*) AS "totalProducts",
+                   COALESCE(SUM(inventory_value), 0) AS "totalInventoryValue",
+                   AVG(unit_price) AS "averageUnitPrice",
+                   CAST(SUM(DATEDIFF(DAY, DATE '1970-01-01', purchase_date)) AS BIGINT) AS "purchaseEpochDaySum"
+            FROM inventory
+            GROUP BY category
+            ORDER BY category
+            """, nativeQuery = true)
+    List<CategorySummaryView> summarizeByCategory();
 
     @Modifying
     @Transactional
@@ -0,0 +1,20 @@
+package com.inventory.repository;
+
+import com.inventory.entity.Inventory;
+
+import java.util.List;
+
+public interface InventoryRepositoryCustom {
+
+    /**
+     * Keyset page: the first {@code limit} rows that sort strictly after
+     * ({@code lastValue}, {@code lastId}). Both bounds null means the first page.
+     */
+    List<Inventory> findPageAfter(
+            ProductSortKey sortKey,
+            boolean descending,
+            Object lastValue,
+            Long lastId,
+            int limit
+    );
+}
@@ -0,0 +1,63 @@
+package com.inventory.repository;
+
+import com.inventory.entity.Inventory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.util.List;
+
+public class InventoryRepositoryCustomImpl implements InventoryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Inventory> findPageAfter(
+            ProductSortKey sortKey,
+            boolean descending,
+            Object lastValue,
+            Long lastId,
+            int limit
+    ) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Inventory> query = cb.createQuery(Inventory.class);
+        Root<Inventory> root = query.from(Inventory.class);
+
+        boolean desc = sortKey.isDescending(descending);
+        Path<Comparable<Object>> key = root.get(sortKey.getProperty());
+        Path<Long> id = root.get("id");
+
+        if (lastValue != null && lastId != null) {
+            Comparable<Object> value = (Comparable<Object>) lastValue;
+
+            // key >= value bounds the index range scan, the OR skips the ties already served
+            query.where(cb.and(
+                    desc ? cb.lessThanOrEqualTo(key, value) : cb.greaterThanOrEqualTo(key, value),
+                    cb.or(
+                            after(cb, key, value, desc),
+                            after(cb, id, lastId, desc)
+                    )
+            ));
+        }
+
+        query.orderBy(desc
+                ? List.of(cb.desc(key), cb.desc(id))
+                : List.of(cb.asc(key), cb.asc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate after(
+            CriteriaBuilder cb,
+            Expression<? extends Y> path,
+            Y value,
+            boolean descending
+    ) {
+        return descending ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+    }
+}
@@ -0,0 +1,60 @@
+package com.inventory.repository;
+
+import com.inventory.entity.Inventory;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a resolved {@link ProductFilter} into plain comparisons on indexed
+ * columns: category, the SKU prefix as a {@code LIKE 'x%'} range on the
+ * (productSku, purchaseDate) unique index, and ranges on purchaseDate and
+ * unitPrice.
+ */
+public final class InventorySpecifications {
+
+    private InventorySpecifications() {
+    }
+
+    public static Specification<Inventory> matching(ProductFilter filter) {
+
+        return (root, query, cb) -> {
+
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getCategory() != null) {
+                predicates.add(cb.equal(root.get("category"), filter.getCategory()));
+            }
+
+            if (filter.getSkuPrefix() != null) {
+                predicates.add(cb.like(root.get("productSku"), escapeLike(filter.getSkuPrefix()) + "%", '\\'));
+            }
+
+            if (filter.getPurchasedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("purchaseDate"), filter.getPurchasedFrom()));
+            }
+
+            if (filter.getPurchasedTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("purchaseDate"), filter.getPurchasedTo()));
+            }
+
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("unitPrice"), filter.getMinPrice()));
+            }
+
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("unitPrice"), filter.getMaxPrice()));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,15 @@
+package com.inventory.repository;
+
+/**
+ * Single-row aggregate over the inventory table, see
+ * {@link InventoryRepository#summarize()}.
+ */
+public interface InventorySummaryView {
+
+    Long getTotalProducts();
+
+    Double getTotalInventoryValue();
+
+    // sum of purchaseDate as days since 1970-01-01
+    Long getPurchaseEpochDaySum();
+}
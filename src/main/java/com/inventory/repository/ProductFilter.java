@@ -0,0 +1,54 @@
+package com.inventory.repository;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Optional listing filters; null fields do not filter. Ranges are inclusive.
+ * <p>
+ * {@code minStockAge} depends on the current date, so callers fold it into
+ * {@code purchasedTo} with {@link #resolve(LocalDate)} before querying. The
+ * resolved filter is also a stable cache key for the day.
+ */
+@Value
+@Builder
+public class ProductFilter {
+
+    public static final ProductFilter NONE = ProductFilter.builder().build();
+
+    String category;
+    String skuPrefix;
+    LocalDate purchasedFrom;
+    LocalDate purchasedTo;
+    Double minPrice;
+    Double maxPrice;
+    Integer minStockAge;
+
+    public boolean isEmpty() {
+        return category == null && skuPrefix == null
+                && purchasedFrom == null && purchasedTo == null
+                && minPrice == null && maxPrice == null
+                && minStockAge == null;
+    }
+
+    public ProductFilter resolve(LocalDate today) {
+
+        if (minStockAge == null) {
+            return this;
+        }
+
+        // stockAge >= n  <=>  purchaseDate <= today - n
+        LocalDate latest = today.minusDays(minStockAge);
+
+        return ProductFilter.builder()
+                .category(category)
+                .skuPrefix(skuPrefix)
+                .purchasedFrom(purchasedFrom)
+                .purchasedTo(purchasedTo == null || latest.isBefore(purchasedTo) ? latest : purchasedTo)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build();
+    }
+}
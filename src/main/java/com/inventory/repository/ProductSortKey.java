@@ -0,0 +1,64 @@
+package com.inventory.repository;
+
+import com.inventory.entity.Inventory;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Sort keys accepted by the product listing, mapped to the indexed
+ * {@code Inventory} column that orders them in the database.
+ * <p>
+ * {@code stockAge} grows as {@code purchaseDate} shrinks, so it is served by
+ * the purchase date index in the opposite direction. Every sort ends with
+ * {@code id} so pages are stable when the primary key has ties.
+ * <p>
+ * The extractor and parser convert the sort column to and from the string
+ * form carried inside a scroll cursor.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProductSortKey {
+
+    PRODUCT_NAME("productName", "productName", false,
+            Inventory::getProductName, value -> value),
+    PURCHASE_DATE("purchaseDate", "purchaseDate", false,
+            Inventory::getPurchaseDate, LocalDate::parse),
+    UNIT_PRICE("unitPrice", "unitPrice", false,
+            Inventory::getUnitPrice, Double::valueOf),
+    QUANTITY("quantity", "quantity", false,
+            Inventory::getQuantity, Integer::valueOf),
+    STOCK_AGE("stockAge", "purchaseDate", true,
+            Inventory::getPurchaseDate, LocalDate::parse),
+    INVENTORY_VALUE("inventoryValue", "inventoryValue", false,
+            Inventory::getInventoryValue, Double::valueOf);
+
+    private final String apiName;
+    private final String property;
+    private final boolean reversed;
+    private final Function<Inventory, Object> extractor;
+    private final Function<String, Object> parser;
+
+    public static ProductSortKey from(String sortBy) {
+        return Arrays.stream(values())
+                .filter(key -> key.apiName.equals(sortBy))
+                .findFirst()
+                .orElse(PRODUCT_NAME);
+    }
+
+    public boolean isDescending(boolean descendingRequested) {
+        return descendingRequested != reversed;
+    }
+
+    public Sort toSort(boolean descendingRequested) {
+        Sort.Direction direction = isDescending(descendingRequested)
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+}
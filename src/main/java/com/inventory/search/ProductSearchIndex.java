@@ -0,0 +1,473 @@
+package com.inventory.search;
+
+import com.inventory.dto.ProductDTO;
+import com.inventory.entity.Inventory;
+import com.inventory.mapper.ProductMapper;
+import com.inventory.repository.InventoryJdbcRepository;
+import com.inventory.repository.InventoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-process type-ahead index over product names and SKUs, rebuilt after
+ * every upload and clear.
+ * <p>
+ * Names are split into lower-case words; every word contributes its
+ * trigrams plus a two-letter word-start gram, each mapped to a sorted
+ * posting list of row numbers. A query intersects the postings of its
+ * grams, smallest first, and only the surviving candidates are checked
+ * against the actual name. SKUs are kept in sorted order, which serves
+ * prefix lookups like a trie: a binary search finds the start of the
+ * matching range and at most {@code limit} entries are read from it.
+ * <p>
+ * SKU hits rank first (exact, then prefix). Name hits rank by exact name,
+ * name prefix, word prefixes, then plain substring, shorter names first.
+ * Candidates are scored without allocating and ranked in a primitive
+ * top-{@code limit} heap. Only ids, names and SKUs are held in memory; the
+ * winning rows are loaded by id.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private static final int SKU_EXACT = 400;
+    private static final int SKU_PREFIX = 300;
+    private static final int NAME_EXACT = 200;
+    private static final int NAME_PREFIX = 150;
+    private static final int WORD_PREFIXES = 100;
+    private static final int SUBSTRING = 50;
+
+    private final InventoryJdbcRepository inventoryJdbcRepository;
+    private final InventoryRepository inventoryRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Rescans the table. Uploads call this after releasing their write lock,
+     * so searches may see the previous rows for a moment; rebuilds are
+     * serialized, so the last one to finish has read the newest data.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+
+        SnapshotBuilder builder = new SnapshotBuilder();
+        inventoryJdbcRepository.forEachSearchKey(builder::add);
+
+        snapshot = builder.build();
+    }
+
+    public List<ProductDTO> search(String query, int limit) {
+
+        Snapshot current = snapshot;
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+
+        TopRows top = new TopRows(limit);
+
+        int[] skuHits = current.matchSkus(normalized, limit, top);
+        current.matchNames(normalized, skuHits, top);
+
+        int[] rows = top.bestFirst();
+        List<Long> ids = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            ids.add(current.ids[row]);
+        }
+
+        Map<Long, Inventory> loaded = new HashMap<>();
+        for (Inventory inventory : inventoryRepository.findAllById(ids)) {
+            loaded.put(inventory.getId(), inventory);
+        }
+
+        // a row deleted since the last rebuild is simply left out
+        List<ProductDTO> results = new ArrayList<>(rows.length);
+        for (Long id : ids) {
+            Inventory inventory = loaded.get(id);
+            if (inventory != null) {
+                results.add(ProductMapper.enrich(inventory));
+            }
+        }
+
+        return results;
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new SnapshotBuilder().build();
+
+        // database id of each row
+        private final long[] ids;
+
+        // lower-cased names, indexed by row
+        private final String[] names;
+
+        // lower-cased SKUs in sorted order, and the row of each
+        private final String[] sortedSkus;
+        private final int[] skuRows;
+
+        private final Map<String, int[]> postings;
+
+        private Snapshot(long[] ids, String[] names, String[] sortedSkus,
+                         int[] skuRows, Map<String, int[]> postings) {
+            this.ids = ids;
+            this.names = names;
+            this.sortedSkus = sortedSkus;
+            this.skuRows = skuRows;
+            this.postings = postings;
+        }
+
+        /**
+         * SKU hits outrank every name hit, so only the first {@code limit}
+         * SKUs of the prefix range can make the results; an exact match
+         * sorts before its extensions and is always among them. Stopping
+         * there keeps a one-letter prefix shared by every SKU cheap.
+         * Returns the matched rows, sorted.
+         */
+        int[] matchSkus(String query, int limit, TopRows top) {
+
+            int from = lowerBound(sortedSkus, query);
+            int to = (int) Math.min(sortedSkus.length, (long) from + limit);
+
+            int[] hits = new int[to - from];
+            int n = 0;
+
+            for (int i = from; i < to && sortedSkus[i].startsWith(query); i++) {
+                int row = skuRows[i];
+                top.offer(sortedSkus[i].equals(query) ? SKU_EXACT : SKU_PREFIX, names[row].length(), row);
+                hits[n++] = row;
+            }
+
+            int[] sorted = Arrays.copyOf(hits, n);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        // rows already in skuHits are skipped, their SKU score beats any name score
+        void matchNames(String query, int[] skuHits, TopRows top) {
+
+            String[] queryWords = words(query).toArray(String[]::new);
+            List<int[]> lists = new ArrayList<>();
+
+            for (String word : queryWords) {
+                for (String gram : queryGrams(word)) {
+                    int[] list = postings.get(gram);
+                    if (list == null) {
+                        return;
+                    }
+                    lists.add(list);
+                }
+            }
+
+            if (lists.isEmpty()) {
+                return;
+            }
+
+            lists.sort(Comparator.comparingInt(list -> list.length));
+            int[] candidates = lists.get(0);
+            for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+                candidates = intersect(candidates, lists.get(i));
+            }
+
+            for (int row : candidates) {
+
+                // candidates come in row order, so later exact names can no longer win a tie
+                if (top.isFull() && top.worstScore() >= NAME_EXACT) {
+                    return;
+                }
+
+                if (Arrays.binarySearch(skuHits, row) >= 0) {
+                    continue;
+                }
+
+                int score = score(names[row], query, queryWords);
+                if (score > 0) {
+                    top.offer(score, names[row].length(), row);
+                }
+            }
+        }
+
+        private static int score(String name, String query, String[] queryWords) {
+
+            if (name.equals(query)) {
+                return NAME_EXACT;
+            }
+            if (name.startsWith(query)) {
+                return NAME_PREFIX;
+            }
+
+            boolean allWordPrefixes = true;
+
+            for (String word : queryWords) {
+                boolean wordPrefix = hasWordStartingWith(name, word);
+                if (!wordPrefix && (word.length() < 3 || !name.contains(word))) {
+                    // trigram hits that do not spell the word, or a short word inside another word
+                    return 0;
+                }
+                allWordPrefixes &= wordPrefix;
+            }
+
+            return allWordPrefixes ? WORD_PREFIXES : SUBSTRING;
+        }
+
+        // same as words(name).anyMatch(w -> w.startsWith(prefix)) for a one-word prefix, without splitting
+        private static boolean hasWordStartingWith(String name, String prefix) {
+
+            for (int at = name.indexOf(prefix); at >= 0; at = name.indexOf(prefix, at + 1)) {
+                if (at == 0 || !Character.isLetterOrDigit(name.charAt(at - 1))) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    private static final class SnapshotBuilder {
+
+        private long[] ids = new long[1024];
+        private final List<String> names = new ArrayList<>();
+        private final List<String> skus = new ArrayList<>();
+        private final Map<String, PostingList> building = new HashMap<>();
+
+        void add(long id, String productSku, String productName) {
+
+            int row = names.size();
+            if (row == ids.length) {
+                ids = Arrays.copyOf(ids, row * 2);
+            }
+            ids[row] = id;
+
+            String name = normalize(productName);
+            names.add(name);
+            skus.add(normalize(productSku));
+
+            for (String word : words(name)) {
+                for (String gram : grams(word)) {
+                    building.computeIfAbsent(gram, g -> new PostingList()).add(row);
+                }
+            }
+        }
+
+        Snapshot build() {
+
+            int count = names.size();
+
+            Map<String, int[]> postings = new HashMap<>(building.size() * 2);
+            building.forEach((gram, list) -> postings.put(gram, list.toArray()));
+
+            Integer[] bySku = new Integer[count];
+            Arrays.setAll(bySku, i -> i);
+            Arrays.parallelSort(bySku, Comparator.comparing(skus::get));
+
+            String[] sortedSkus = new String[count];
+            int[] skuRows = new int[count];
+            for (int i = 0; i < count; i++) {
+                skuRows[i] = bySku[i];
+                sortedSkus[i] = skus.get(bySku[i]);
+            }
+
+            return new Snapshot(Arrays.copyOf(ids, count), names.toArray(String[]::new),
+                    sortedSkus, skuRows, postings);
+        }
+    }
+
+    /**
+     * The best {@code limit} rows seen so far, as packed longs in a min-heap
+     * so the worst kept row is on top. A larger key is a better row: higher
+     * score, then shorter name, then lower row number.
+     */
+    private static final class TopRows {
+
+        private static final int MAX_RANKED_LENGTH = (1 << 21) - 1;
+
+        private final long[] heap;
+        private int size;
+
+        TopRows(int limit) {
+            heap = new long[limit];
+        }
+
+        void offer(int score, int nameLength, int row) {
+
+            long key = (long) score << 52
+                    | (long) (MAX_RANKED_LENGTH - Math.min(nameLength, MAX_RANKED_LENGTH)) << 31
+                    | (Integer.MAX_VALUE - row);
+
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (size > 0 && key > heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        boolean isFull() {
+            return size == heap.length;
+        }
+
+        int worstScore() {
+            return size == 0 ? 0 : (int) (heap[0] >>> 52);
+        }
+
+        int[] bestFirst() {
+
+            long[] keys = Arrays.copyOf(heap, size);
+            Arrays.sort(keys);
+
+            int[] rows = new int[size];
+            for (int i = 0; i < size; i++) {
+                rows[i] = Integer.MAX_VALUE - (int) (keys[size - 1 - i] & Integer.MAX_VALUE);
+            }
+
+            return rows;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= heap[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1, right = left + 1;
+                if (left < size && heap[left] < heap[smallest]) smallest = left;
+                if (right < size && heap[right] < heap[smallest]) smallest = right;
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> words(String text) {
+
+        List<String> words = new ArrayList<>();
+        int start = -1;
+
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+
+        return words;
+    }
+
+    // "^" plus the first two letters, then every trigram of the word
+    static Set<String> grams(String word) {
+
+        Set<String> grams = new LinkedHashSet<>();
+
+        if (word.length() >= 2) {
+            grams.add("^" + word.substring(0, 2));
+        }
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            grams.add(word.substring(i, i + 3));
+        }
+
+        return grams;
+    }
+
+    /**
+     * Grams a name must contain to match {@code word}: its trigrams, since
+     * it may sit inside a longer word, or for a two-letter word its
+     * word-start gram. Single letters are too common to narrow anything.
+     */
+    static Set<String> queryGrams(String word) {
+
+        if (word.length() < 2) {
+            return Set.of();
+        }
+        if (word.length() == 2) {
+            return Set.of("^" + word);
+        }
+
+        Set<String> grams = grams(word);
+        grams.remove("^" + word.substring(0, 2));
+        return grams;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+
+        return Arrays.copyOf(out, n);
+    }
+
+    private static int lowerBound(String[] sorted, String value) {
+
+        int low = 0, high = sorted.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    // rows arrive in increasing order, so appending keeps the list sorted
+    private static final class PostingList {
+
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size > 0 && rows[size - 1] == row) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
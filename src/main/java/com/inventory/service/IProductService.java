@@ -1,18 +1,41 @@
 package com.inventory.service;
 
+import com.inventory.dto.CacheStatsDTO;
+import com.inventory.dto.CategorySummaryDTO;
 import com.inventory.dto.ExcelUploadResultDTO;
 import com.inventory.dto.PageResponseDTO;
 import com.inventory.dto.ProductDTO;
 import com.inventory.dto.ProductSummaryDTO;
+import com.inventory.dto.UploadJobDTO;
 import com.inventory.exception.IllegalArgumentException;
+import com.inventory.ingest.UploadMode;
+import com.inventory.ingest.UploadOptions;
+import com.inventory.repository.ProductFilter;
+import com.inventory.util.ExportFormat;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+
 public interface IProductService {
 
     public ExcelUploadResultDTO uploadFile(MultipartFile file);
+    public ExcelUploadResultDTO uploadFile(MultipartFile file, UploadMode mode, boolean deleteMissing);
+    public ExcelUploadResultDTO uploadFile(MultipartFile file, UploadOptions options);
+    public UploadJobDTO submitUpload(MultipartFile file, UploadOptions options);
+    public UploadJobDTO getUploadJob(String jobId);
+    public Path getErrorReport(String reportId);
 
     public PageResponseDTO<ProductDTO> getProducts(int page, int size, String sortBy, String direction) throws IllegalArgumentException;
+    public PageResponseDTO<ProductDTO> getProducts(int page, int size, String sortBy, String direction, ProductFilter filter) throws IllegalArgumentException;
+    public PageResponseDTO<ProductDTO> scrollProducts(String cursor, int size, String sortBy, String direction) throws IllegalArgumentException;
+    public List<ProductDTO> searchProducts(String query, int limit) throws IllegalArgumentException;
+    public void exportProducts(ExportFormat format, OutputStream out) throws IOException;
     public ProductSummaryDTO getSummary();
+    public List<CategorySummaryDTO> getCategorySummary();
+    public CacheStatsDTO getPageCacheStats();
     public void clearInventoryDb();
 
 
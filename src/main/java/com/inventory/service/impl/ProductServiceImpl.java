@@ -1,86 +1,455 @@
 package com.inventory.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.inventory.cache.CategorySummaryCache;
+import com.inventory.cache.InventorySummaryAccumulator;
+import com.inventory.cache.ProductPageCache;
+import com.inventory.catalogue.InMemoryCatalogue;
+import com.inventory.dto.CacheStatsDTO;
+import com.inventory.dto.CategorySummaryDTO;
+import com.inventory.config.InventoryProperties;
 import com.inventory.dto.ExcelUploadResultDTO;
 import com.inventory.dto.PageResponseDTO;
 import com.inventory.dto.ProductDTO;
 import com.inventory.dto.ProductSummaryDTO;
+import com.inventory.dto.UploadJobDTO;
 import com.inventory.entity.Inventory;
-import com.inventory.exception.DuplicateProductException;
 import com.inventory.exception.IllegalArgumentException;
 import com.inventory.exception.InvalidExcelException;
+import com.inventory.ingest.DuplicateFilter;
+import com.inventory.ingest.ErrorReportStore;
+import com.inventory.ingest.IngestMetrics;
+import com.inventory.ingest.IngestPipeline;
+import com.inventory.ingest.IngestStats;
+import com.inventory.ingest.RowErrorCollector;
+import com.inventory.ingest.RowSource;
+import com.inventory.ingest.UploadJobRegistry;
+import com.inventory.ingest.UploadMode;
+import com.inventory.ingest.UploadOptions;
+import com.inventory.ingest.UploadTimings;
 import com.inventory.mapper.ProductMapper;
+import com.inventory.repository.InventoryJdbcRepository;
 import com.inventory.repository.InventoryRepository;
+import com.inventory.repository.InventorySpecifications;
+import com.inventory.repository.ProductFilter;
+import com.inventory.repository.ProductSortKey;
+import com.inventory.search.ProductSearchIndex;
 import com.inventory.service.IProductService;
 import com.inventory.util.CsvReaderUtil;
+import com.inventory.util.CursorUtil;
 import com.inventory.util.ExcelReaderUtil;
+import com.inventory.util.ExportFormat;
+import com.inventory.util.ProductExportUtil;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements IProductService {
 
     private final InventoryRepository inventoryRepository;
+    private final InventoryJdbcRepository inventoryJdbcRepository;
+    private final InventorySummaryAccumulator summaryAccumulator;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryProperties properties;
+    private final UploadJobRegistry uploadJobs;
+    private final ProductPageCache pageCache;
+    private final InMemoryCatalogue catalogue;
+    private final CategorySummaryCache categorySummaryCache;
+    private final ProductSearchIndex searchIndex;
+    private final IngestMetrics ingestMetrics;
+    private final ErrorReportStore errorReports;
+    private final ObjectMapper objectMapper;
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    // uploads and clears are serialized so the table and the summary move together
+    private final ReentrantLock writeLock = new ReentrantLock();
 
 
     @Override
     public ExcelUploadResultDTO uploadFile(MultipartFile file) {
+        return uploadFile(file, UploadOptions.DEFAULT);
+    }
 
-        inventoryRepository.deleteAll();
+    @Override
+    public ExcelUploadResultDTO uploadFile(MultipartFile file, UploadMode mode, boolean deleteMissing) {
+        return uploadFile(file, UploadOptions.builder().mode(mode).deleteMissing(deleteMissing).build());
+    }
 
-        List<ProductDTO> validProducts = new ArrayList<>();
+    @Override
+    public ExcelUploadResultDTO uploadFile(MultipartFile file, UploadOptions options) {
+        ingestMetrics.fileReceived(file.getSize());
+        return upload(file.getOriginalFilename(), file, options, new IngestStats());
+    }
 
-        String filename = Optional.ofNullable(file.getOriginalFilename())
-                .orElse("")
-                .toLowerCase();
+    @Override
+    public UploadJobDTO submitUpload(MultipartFile file, UploadOptions options) {
+
+        String filename = file.getOriginalFilename();
+
+        // reject unsupported files before anything is queued
+        rowSourceFor(filename, file, null, null);
+        ingestMetrics.fileReceived(file.getSize());
+
+        // the multipart temp file is gone once this request ends
+        Path copy = copyToTempFile(file);
+
+        try {
+            return uploadJobs.submit(stats -> {
+                try {
+                    return upload(filename, new FileSystemResource(copy), options, stats);
+                } finally {
+                    deleteQuietly(copy);
+                }
+            }).toDTO();
+        } catch (RuntimeException e) {
+            deleteQuietly(copy);
+            throw e;
+        }
+    }
+
+    @Override
+    public UploadJobDTO getUploadJob(String jobId) {
+        return uploadJobs.get(jobId).toDTO();
+    }
 
+    @Override
+    public Path getErrorReport(String reportId) {
+        return errorReports.get(reportId);
+    }
+
+    private ExcelUploadResultDTO upload(
+            String filename,
+            InputStreamSource file,
+            UploadOptions options,
+            IngestStats stats
+    ) {
+
+        UploadTimings timings = options.isTimings() ? new UploadTimings() : null;
+        int detailLimit = properties.getIngest().getMaxErrorDetails();
+        RowErrorCollector errors = options.isErrorReport()
+                ? new RowErrorCollector(detailLimit, errorReports.newReportFile())
+                : new RowErrorCollector(detailLimit);
+
+        ExcelUploadResultDTO result;
+        try {
+            RowSource source = rowSourceFor(filename, file, timings, errors);
+
+            RowSource counted = sink -> {
+                long start = System.nanoTime();
+                try {
+                    return source.readInto(row -> {
+                        stats.rowParsed();
+                        sink.accept(row);
+                    });
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    ingestMetrics.record(IngestMetrics.Stage.PARSE, elapsed);
+                    if (timings != null) {
+                        timings.addParse(elapsed);
+                    }
+                }
+            };
+
+            result = ingestMetrics.timeUpload(options.getMode(),
+                    () -> ingest(counted, options, stats, timings, errors));
+        } catch (RuntimeException e) {
+            // also covers an unsupported file, rejected after the report was opened
+            errors.discardReport();
+            throw e;
+        }
+
+        Path report = errors.finishReport();
+        if (report != null) {
+            result.setErrorReportId(errorReports.register(report));
+        }
+
+        return result;
+    }
+
+    private ExcelUploadResultDTO ingest(
+            RowSource counted,
+            UploadOptions options,
+            IngestStats stats,
+            UploadTimings timings,
+            RowErrorCollector errors
+    ) {
+
+        UploadMode mode = options.getMode();
         ExcelUploadResultDTO result;
 
+        writeLock.lock();
+        try {
+            UploadBatchWriter writer = new UploadBatchWriter(mode, stats, timings, errors);
+
+            result = mode == UploadMode.REPLACE
+                    ? replaceTable(counted, writer)
+                    : mergeIntoTable(counted, writer, options.isDeleteMissing());
+
+            int duplicates = writer.duplicates;
+            errors.applyTo(result);
+            result.setSuccessCount(result.getSuccessCount() - duplicates);
+            result.setFailedCount(result.getFailedCount() + duplicates);
+
+            // parse failures are only known once the reader has finished
+            stats.rowsFailed(result.getFailedCount() - duplicates);
+
+            catalogue.reload();
+
+            if (mode == UploadMode.REPLACE) {
+                summaryAccumulator.replace(writer.totals);
+            } else if (catalogue.isEnabled()) {
+                // the reload has just scanned every row
+                summaryAccumulator.replace(catalogue.totals());
+            } else {
+                // a merge only knows its own rows, not what it overwrote
+                summaryAccumulator.rebuild();
+            }
+
+            pageCache.invalidate();
+            ingestMetrics.rowsProcessed(result.getSuccessCount(), result.getFailedCount());
+
+            if (timings != null) {
+                result.setTimings(timings.toDTO(result.getSuccessCount()));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        // a full rescan, so it does not hold up the next upload
+        searchIndex.rebuild();
+
+        return result;
+    }
+
+    /**
+     * Loads the upload into the staging table, then empties the live table and
+     * copies the staged rows into it in one transaction. Readers keep seeing
+     * the previous rows until that commits, and a failed load never touches the
+     * live table. The copy is a second full write of every row, so the publish
+     * step grows with the file and runs under the upload lock.
+     */
+    private ExcelUploadResultDTO replaceTable(RowSource source, UploadBatchWriter writer) {
+
+        inventoryJdbcRepository.resetStaging();
+
+        try {
+            ExcelUploadResultDTO result = transactionTemplate.execute(status ->
+                    new IngestPipeline(properties.getIngest(), writer.timings).run(source, writer));
+
+            long start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                inventoryRepository.deleteAllInBatch();
+                inventoryJdbcRepository.publishStaging();
+            });
+
+            long elapsed = System.nanoTime() - start;
+            ingestMetrics.record(IngestMetrics.Stage.PUBLISH, elapsed);
+            if (writer.timings != null) {
+                writer.timings.addPublish(elapsed);
+            }
+
+            return result;
+        } finally {
+            inventoryJdbcRepository.clearStaging();
+        }
+    }
+
+    // the whole merge commits together, so a failed one leaves the old data in place
+    private ExcelUploadResultDTO mergeIntoTable(RowSource source, UploadBatchWriter writer, boolean deleteMissing) {
+
+        return transactionTemplate.execute(status -> {
+
+            ExcelUploadResultDTO result = new IngestPipeline(properties.getIngest(), writer.timings).run(source, writer);
+
+            if (deleteMissing) {
+                result.setDeletedCount(
+                        inventoryJdbcRepository.deleteAllExcept(writer.duplicateFilter.seenKeys()));
+            }
+
+            return result;
+        });
+    }
+
+    private RowSource rowSourceFor(
+            String originalFilename,
+            InputStreamSource file,
+            UploadTimings timings,
+            RowErrorCollector errors
+    ) {
+
+        String filename = Optional.ofNullable(originalFilename)
+                .orElse("")
+                .toLowerCase();
+
         if (filename.endsWith(".csv")) {
-            result = CsvReaderUtil.readCsv(file, validProducts);
+            return sink -> CsvReaderUtil.readCsv(file, sink, timings, errors);
         } else if (filename.endsWith(".xlsx")) {
-            result = ExcelReaderUtil.readExcel(file, validProducts);
+            return sink -> ExcelReaderUtil.readExcel(file, sink, timings, errors);
         } else {
             throw new InvalidExcelException("Only CSV or Excel files are supported");
         }
+    }
 
-        for (ProductDTO dto : validProducts) {
+    private static Path copyToTempFile(MultipartFile file) {
+        try {
+            Path copy = Files.createTempFile("inventory-upload-", ".tmp");
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return copy;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not buffer upload", e);
+        }
+    }
 
-            if (inventoryRepository.existsByProductSkuAndPurchaseDate(
-                    dto.getProductSku(), dto.getPurchaseDate())) {
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // temp directory cleanup will get it
+        }
+    }
 
-                throw new DuplicateProductException(
-                        "Duplicate Product SKU + Purchase Date: "
-                                + dto.getProductSku() + " - " + dto.getPurchaseDate()
-                );
+    /**
+     * Consumes the pipeline's batches: drops rows repeated within the file,
+     * writes the rest and keeps running summary totals for what was written.
+     * Existing rows are never duplicates: a replace discards them and a merge
+     * updates them.
+     */
+    private class UploadBatchWriter implements Consumer<List<ProductDTO>> {
+
+        private final UploadMode mode;
+        private final DuplicateFilter duplicateFilter = new DuplicateFilter();
+        private final IngestStats stats;
+        private final UploadTimings timings;
+        private final RowErrorCollector errors;
+        private InventorySummaryAccumulator.Totals totals = InventorySummaryAccumulator.Totals.EMPTY;
+        private int duplicates;
+
+        UploadBatchWriter(UploadMode mode, IngestStats stats, UploadTimings timings, RowErrorCollector errors) {
+            this.mode = mode;
+            this.stats = stats;
+            this.timings = timings;
+            this.errors = errors;
+        }
+
+        @Override
+        public void accept(List<ProductDTO> batch) {
+
+            List<String> duplicateErrors = new ArrayList<>();
+            long start = System.nanoTime();
+            List<ProductDTO> accepted = duplicateFilter.filter(batch, duplicateErrors);
+            long deduped = System.nanoTime();
+
+            for (String duplicate : duplicateErrors) {
+                errors.add(DuplicateFilter.DUPLICATE_ERROR, duplicate);
             }
+            duplicates += duplicateErrors.size();
 
-            Inventory inventory = Inventory.builder()
-                    .productSku(dto.getProductSku())
-                    .productName(dto.getProductName())
-                    .category(dto.getCategory())
-                    .purchaseDate(dto.getPurchaseDate())
-                    .unitPrice(dto.getUnitPrice())
-                    .quantity(dto.getQuantity())
-                    .build();
+            if (mode == UploadMode.MERGE) {
+                inventoryJdbcRepository.mergeAll(accepted);
+            } else {
+                inventoryJdbcRepository.stageAll(accepted);
+            }
 
-            inventoryRepository.save(inventory);
-        }
+            long persisted = System.nanoTime();
+            ingestMetrics.record(IngestMetrics.Stage.DEDUPE, deduped - start);
+            ingestMetrics.record(IngestMetrics.Stage.PERSIST, persisted - deduped);
 
-        return result;
+            if (timings != null) {
+                timings.addDuplicateCheck(deduped - start);
+                timings.addPersist(persisted - deduped);
+            }
+
+            totals = totals.plus(accepted);
+            stats.rowsPersisted(accepted.size());
+            stats.rowsFailed(duplicateErrors.size());
+        }
     }
 
     @Override
     public PageResponseDTO<ProductDTO> getProducts(
             int page, int size, String sortBy, String direction) throws IllegalArgumentException {
+        return getProducts(page, size, sortBy, direction, ProductFilter.NONE);
+    }
+
+    @Override
+    public PageResponseDTO<ProductDTO> getProducts(
+            int page, int size, String sortBy, String direction, ProductFilter filter)
+            throws IllegalArgumentException {
 
-        List<Inventory> inventories = inventoryRepository.findAll();
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number must not be negative");
+        }
 
-        if (inventories.isEmpty()) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+
+        ProductSortKey sortKey = ProductSortKey.from(sortBy);
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        LocalDate today = LocalDate.now();
+        ProductFilter resolved = filter.resolve(today);
+
+        // data only changes on upload or clear, which invalidate the cache; ages change with the day
+        ProductPageCache.PageKey cacheKey = pageCache.keyFor(today, sortKey, descending, page, size, resolved);
+        PageResponseDTO<ProductDTO> cached = pageCache.get(cacheKey);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        PageResponseDTO<ProductDTO> response = loadProducts(sortKey, descending, page, size, resolved);
+        pageCache.put(cacheKey, response);
+
+        return response;
+    }
+
+    private PageResponseDTO<ProductDTO> loadProducts(
+            ProductSortKey sortKey, boolean descending, int page, int size, ProductFilter filter)
+            throws IllegalArgumentException {
+
+        Page<ProductDTO> products;
+
+        if (catalogue.isEnabled()) {
+            products = catalogue.page(sortKey, descending, page, size, filter);
+        } else {
+            PageRequest pageRequest = PageRequest.of(page, size, sortKey.toSort(descending));
+
+            Page<Inventory> rows = filter.isEmpty()
+                    ? inventoryRepository.findAll(pageRequest)
+                    : inventoryRepository.findAll(InventorySpecifications.matching(filter), pageRequest);
+
+            products = rows.map(ProductMapper::enrich);
+        }
+
+        if (products.getTotalElements() == 0) {
             return PageResponseDTO.<ProductDTO>builder()
                     .content(List.of())
                     .page(page)
@@ -91,79 +460,130 @@ public class ProductServiceImpl implements IProductService {
                     .build();
         }
 
-        List<ProductDTO> products = inventories.stream()
-                .map(ProductMapper::enrich)
-                .toList();
-
-        Comparator<ProductDTO> comparator = getComparator(sortBy);
-        if ("desc".equalsIgnoreCase(direction)) {
-            comparator = comparator.reversed();
+        if (page >= products.getTotalPages()) {
+            throw new IllegalArgumentException("Page number exceeds available data");
         }
 
-        List<ProductDTO> sorted = products.stream()
-                .sorted(comparator)
-                .toList();
+        return PageResponseDTO.<ProductDTO>builder()
+                .content(products.getContent())
+                .page(page)
+                .size(size)
+                .totalElements(products.getTotalElements())
+                .totalPages(products.getTotalPages())
+                .last(products.isLast())
+                .build();
+    }
 
-        int totalElements = sorted.size();
-        int start = page * size;
+    @Override
+    public PageResponseDTO<ProductDTO> scrollProducts(
+            String cursor, int size, String sortBy, String direction) throws IllegalArgumentException {
 
-        if (start >= totalElements) {
-            throw new IllegalArgumentException("Page number exceeds available data");
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
         }
 
-        int end = Math.min(start + size, totalElements);
-        int totalPages = (int) Math.ceil((double) totalElements / size);
+        ProductSortKey sortKey = ProductSortKey.from(sortBy);
+        boolean descending = "desc".equalsIgnoreCase(direction);
+
+        CursorUtil.Position after = (cursor == null || cursor.isBlank())
+                ? null
+                : CursorUtil.decode(cursor, sortKey, descending);
+
+        // one extra row tells us whether another page exists without a count query
+        List<Inventory> rows = inventoryRepository.findPageAfter(
+                sortKey,
+                descending,
+                after == null ? null : after.getValue(),
+                after == null ? null : after.getId(),
+                size + 1
+        );
+
+        boolean hasMore = rows.size() > size;
+        List<Inventory> pageRows = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasMore
+                ? CursorUtil.encode(sortKey, descending, pageRows.get(pageRows.size() - 1))
+                : null;
 
         return PageResponseDTO.<ProductDTO>builder()
-                .content(sorted.subList(start, end))
-                .page(page)
+                .content(pageRows.stream().map(ProductMapper::enrich).toList())
                 .size(size)
-                .totalElements(totalElements)
-                .totalPages(totalPages)
-                .last(page == totalPages - 1)
+                .last(!hasMore)
+                .nextCursor(nextCursor)
                 .build();
     }
 
-    private Comparator<ProductDTO> getComparator(String sortBy) {
-        return switch (sortBy) {
-            case "productName" -> Comparator.comparing(ProductDTO::getProductName);
-            case "purchaseDate" -> Comparator.comparing(ProductDTO::getPurchaseDate);
-            case "unitPrice" -> Comparator.comparing(ProductDTO::getUnitPrice);
-            case "quantity" -> Comparator.comparing(ProductDTO::getQuantity);
-            case "stockAge" -> Comparator.comparing(ProductDTO::getStockAge);
-            case "inventoryValue" -> Comparator.comparing(ProductDTO::getInventoryValue);
-            default -> Comparator.comparing(ProductDTO::getProductName);
-        };
+    @Override
+    public List<ProductDTO> searchProducts(String query, int limit) throws IllegalArgumentException {
+
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+
+        if (limit <= 0 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+
+        return searchIndex.search(query, limit);
     }
 
+    /**
+     * Streams the whole table to {@code out} in id order, one enriched row at
+     * a time, so memory use does not depend on the table size.
+     */
     @Override
-    public ProductSummaryDTO getSummary() {
-
-        List<Inventory> inventories = inventoryRepository.findAll();
+    public void exportProducts(ExportFormat format, OutputStream out) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter json = ProductExportUtil.jsonWriter(objectMapper);
+        ProductExportUtil.writeHeader(format, writer);
+
+        try {
+            inventoryJdbcRepository.forEachProduct(product -> {
+                try {
+                    ProductExportUtil.writeRow(format, ProductMapper.enrich(product), json, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // usually the client went away; stop reading the table
+            throw e.getCause();
+        }
 
-        double totalValue = inventories.stream()
-                .mapToDouble(i -> i.getUnitPrice() * i.getQuantity())
-                .sum();
+        writer.flush();
+    }
 
-        double avgAge = inventories.stream()
-                .mapToLong(i -> ProductMapper.calculateStockAge(i.getPurchaseDate()))
-                .average()
-                .orElse(0);
+    @Override
+    public ProductSummaryDTO getSummary() {
+        return summaryAccumulator.summary();
+    }
 
-        avgAge = Math.round(avgAge * 100.0) / 100.0;
+    @Override
+    public List<CategorySummaryDTO> getCategorySummary() {
+        return categorySummaryCache.summary();
+    }
 
-        return ProductSummaryDTO.builder()
-                .totalProducts(inventories.size())
-                .totalInventoryValue(totalValue)
-                .averageStockAge(avgAge)
-                .build();
+    @Override
+    public CacheStatsDTO getPageCacheStats() {
+        return pageCache.stats();
     }
 
     @Override
     @Transactional
     public void clearInventoryDb() {
-        inventoryRepository.truncateInventory();
-        inventoryRepository.resetInventoryIdentity();
+        writeLock.lock();
+        try {
+            inventoryRepository.truncateInventory();
+            inventoryRepository.resetInventoryIdentity();
+            summaryAccumulator.reset();
+            catalogue.reload();
+            pageCache.invalidate();
+        } finally {
+            writeLock.unlock();
+        }
+
+        searchIndex.rebuild();
     }
 }
 
@@ -2,71 +2,238 @@ package com.inventory.util;
 
 import com.inventory.dto.ExcelUploadResultDTO;
 import com.inventory.dto.ProductDTO;
+import com.inventory.ingest.RowErrorCollector;
+import com.inventory.ingest.UploadTimings;
 import com.inventory.validator.ProductValidator;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Reads CSV uploads (RFC 4180: quoted fields may contain commas, line breaks
+ * and doubled quotes). Records are cut into chunks on the calling thread and
+ * tokenized, parsed and validated in parallel on virtual threads; finished
+ * chunks are handed to the sink strictly in file order, and only a bounded
+ * number of chunks is in flight at once. Row numbers count records, with the
+ * header as row 1.
+ */
 public class CsvReaderUtil {
 
+    static final int CHUNK_RECORDS = 4096;
+
+    // error type for records that do not tokenize into six well-formed fields
+    static final String INVALID_RECORD = "Invalid CSV data";
+
+    private static final int MAX_CHUNKS_IN_FLIGHT =
+            Runtime.getRuntime().availableProcessors() * 2;
+
     public static ExcelUploadResultDTO readCsv(
             MultipartFile file,
             List<ProductDTO> validProducts
     ) {
+        return readCsv(file, validProducts::add);
+    }
 
-        int total = 0, success = 0, failed = 0;
-        List<String> errors = new ArrayList<>();
-
-        try (BufferedReader br =
-                     new BufferedReader(new InputStreamReader(file.getInputStream()))) {
+    /**
+     * Streams every valid row into {@code sink}, in file order, as soon as its
+     * chunk has been parsed.
+     */
+    public static ExcelUploadResultDTO readCsv(
+            InputStreamSource source,
+            Consumer<ProductDTO> sink
+    ) {
+        return readCsv(source, sink, null, new RowErrorCollector(RowErrorCollector.DEFAULT_DETAIL_LIMIT));
+    }
 
-            String line;
-            boolean header = true;
+    /**
+     * As {@link #readCsv(InputStreamSource, Consumer)}, reporting failed rows
+     * to {@code errors} and adding validation time to {@code timings} when it
+     * is not null.
+     */
+    public static ExcelUploadResultDTO readCsv(
+            InputStreamSource source,
+            Consumer<ProductDTO> sink,
+            UploadTimings timings,
+            RowErrorCollector errors
+    ) {
 
-            while ((line = br.readLine()) != null) {
+        ReadTotals totals = new ReadTotals(errors);
+        LocalDate today = LocalDate.now();
 
-                if (header) {
-                    header = false;
-                    continue;
-                }
+        try (Reader in = new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8);
+             ExecutorService parsers = Executors.newVirtualThreadPerTaskExecutor()) {
 
-                total++;
+            CsvRecordReader records = new CsvRecordReader(in);
+            Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
 
-                try {
-                    String[] data = line.split(",");
+            // header
+            records.next(1);
 
-                    ProductDTO product = ProductDTO.builder()
-                            .productSku(data[0])
-                            .productName(data[1])
-                            .category(data[2])
-                            .purchaseDate(LocalDate.parse(data[3]))
-                            .unitPrice(Double.parseDouble(data[4]))
-                            .quantity(Integer.parseInt(data[5]))
-                            .build();
+            // the header is row 1
+            int firstRow = 2;
+            CsvRecordReader.Chunk chunk;
 
-                    ProductValidator.validate(product);
-                    validProducts.add(product);
-                    success++;
+            while ((chunk = records.next(CHUNK_RECORDS)) != null) {
+                submit(parsers, inFlight, chunk, firstRow, today, timings);
+                firstRow += chunk.count;
 
-                } catch (Exception ex) {
-                    failed++;
-                    errors.add("Row " + (total + 1) + ": Invalid CSV data");
+                if (inFlight.size() >= MAX_CHUNKS_IN_FLIGHT) {
+                    totals.emit(inFlight.poll().get(), sink);
                 }
             }
 
+            while (!inFlight.isEmpty()) {
+                totals.emit(inFlight.poll().get(), sink);
+            }
+
         } catch (Exception e) {
             throw new RuntimeException("Failed to read CSV file");
         }
 
-        return ExcelUploadResultDTO.builder()
-                .totalRows(total)
-                .successCount(success)
-                .failedCount(failed)
-                .errors(errors)
+        ExcelUploadResultDTO result = ExcelUploadResultDTO.builder()
+                .totalRows(totals.total)
+                .successCount(totals.success)
+                .failedCount(totals.failed)
                 .build();
+        errors.applyTo(result);
+
+        return result;
+    }
+
+    private static void submit(
+            ExecutorService parsers,
+            Deque<Future<ParsedChunk>> inFlight,
+            CsvRecordReader.Chunk chunk,
+            int firstRow,
+            LocalDate today,
+            UploadTimings timings
+    ) {
+        inFlight.add(parsers.submit(() -> parseChunk(chunk, firstRow, today, timings)));
+    }
+
+    private static ParsedChunk parseChunk(
+            CsvRecordReader.Chunk chunk,
+            int firstRow,
+            LocalDate today,
+            UploadTimings timings
+    ) {
+
+        ParsedChunk parsed = new ParsedChunk(chunk.count);
+        CsvTokenizer tokenizer = new CsvTokenizer();
+        long validationNanos = 0;
+
+        for (int i = 0; i < chunk.count; i++) {
+
+            ProductDTO product = parseRecord(tokenizer, chunk.data, chunk.starts[i], chunk.ends[i]);
+            String error;
+
+            if (product == null) {
+                error = INVALID_RECORD;
+            } else if (timings == null) {
+                error = validationError(product, today);
+            } else {
+                long start = System.nanoTime();
+                error = validationError(product, today);
+                validationNanos += System.nanoTime() - start;
+            }
+
+            if (error == null) {
+                parsed.valid.add(product);
+            } else {
+                parsed.errorTypes.add(error);
+                parsed.errorRows.add(firstRow + i);
+            }
+        }
+
+        if (timings != null) {
+            timings.addValidation(validationNanos);
+        }
+
+        return parsed;
+    }
+
+    // null when the record does not have six well-formed fields
+    private static ProductDTO parseRecord(CsvTokenizer tokenizer, char[] data, int from, int to) {
+
+        if (!tokenizer.tokenize(data, from, to) || tokenizer.fieldCount() < 6) {
+            return null;
+        }
+
+        LocalDate purchaseDate = tokenizer.parseDate(3);
+        double unitPrice = tokenizer.parseDouble(4);
+        long quantity = tokenizer.parseInt(5);
+
+        if (purchaseDate == null || Double.isNaN(unitPrice) || quantity == CsvTokenizer.NOT_A_NUMBER) {
+            return null;
+        }
+
+        return ProductDTO.builder()
+                .productSku(tokenizer.string(0))
+                .productName(tokenizer.string(1))
+                .category(tokenizer.string(2))
+                .purchaseDate(purchaseDate)
+                .unitPrice(unitPrice)
+                .quantity((int) quantity)
+                .build();
+    }
+
+    // null when valid, otherwise the validator's message
+    private static String validationError(ProductDTO product, LocalDate today) {
+        ProductValidator.Violation violation = ProductValidator.check(product, today);
+        return violation == null ? null : violation.getMessage();
+    }
+
+    private static class ParsedChunk {
+
+        private final int rows;
+        private final List<ProductDTO> valid;
+
+        // failed rows as (error type, row number) pairs; messages are built when emitted
+        private final List<String> errorTypes = new ArrayList<>();
+        private final List<Integer> errorRows = new ArrayList<>();
+
+        ParsedChunk(int rows) {
+            this.rows = rows;
+            this.valid = new ArrayList<>(rows);
+        }
+    }
+
+    private static class ReadTotals {
+
+        private final RowErrorCollector errors;
+        private int total, success, failed;
+
+        ReadTotals(RowErrorCollector errors) {
+            this.errors = errors;
+        }
+
+        // runs on the reading thread only, so the sink sees rows in file order
+        void emit(ParsedChunk chunk, Consumer<ProductDTO> sink) {
+
+            for (ProductDTO product : chunk.valid) {
+                sink.accept(product);
+            }
+
+            total += chunk.rows;
+            success += chunk.valid.size();
+            failed += chunk.errorTypes.size();
+
+            for (int i = 0; i < chunk.errorTypes.size(); i++) {
+                String type = chunk.errorTypes.get(i);
+                errors.add(type, "Row " + chunk.errorRows.get(i) + ": " + type);
+            }
+        }
     }
 }
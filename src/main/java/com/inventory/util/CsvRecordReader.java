@@ -0,0 +1,198 @@
+package com.inventory.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Cuts a character stream into chunks of whole CSV records.
+ * <p>
+ * A record ends at a line break outside quotes, so quoted fields may span
+ * lines. As in {@link CsvTokenizer#tokenize}, a quote only opens a quoted
+ * section at the start of a field; elsewhere in an unquoted field it is an
+ * ordinary character (e.g. {@code 27" Monitor}).
+ * <p>
+ * A quoted section still open after {@link #MAX_QUOTED_CHARS} characters, or
+ * at the end of the stream, is taken to be unclosed: its record is cut at the
+ * first line break inside the quotes (and fails to tokenize), and everything
+ * after that break is read again as ordinary records. One stray quote costs
+ * one row instead of the rest of the file.
+ * <p>
+ * Each chunk owns one char array holding its records back to back (line
+ * breaks dropped) plus the start/end offset of every record, which is all a
+ * {@link CsvTokenizer} needs to work without per-line Strings.
+ */
+final class CsvRecordReader {
+
+    static final int MAX_QUOTED_CHARS = 16 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[64 * 1024];
+
+    private int position;
+    private int limit;
+    private boolean endOfStream;
+
+    // characters read past an unclosed quote, handed out again before the stream
+    private char[] replay = new char[0];
+    private int replayPosition;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Up to {@code maxRecords} records, or null once the stream is exhausted.
+     */
+    Chunk next(int maxRecords) throws IOException {
+
+        Chunk chunk = new Chunk(maxRecords);
+        int recordStart = 0;
+        boolean inQuotes = false;
+        boolean fieldStart = true;
+        boolean afterClosingQuote = false;
+        int quoteStart = 0;
+        int quotedBreak = -1;
+
+        while (chunk.count < maxRecords) {
+
+            int next = read();
+
+            if (next < 0) {
+                if (inQuotes && quotedBreak >= 0) {
+                    failUnclosedQuote(chunk, recordStart, quotedBreak);
+                    recordStart = chunk.length;
+                    inQuotes = false;
+                    fieldStart = true;
+                    afterClosingQuote = false;
+                    quotedBreak = -1;
+                    continue;
+                }
+                if (chunk.length > recordStart) {
+                    chunk.endRecord(recordStart);
+                }
+                break;
+            }
+
+            char c = (char) next;
+
+            if (inQuotes) {
+                if (c == '"') {
+                    inQuotes = false;
+                    afterClosingQuote = true;
+                } else if (c == '\n' && quotedBreak < 0) {
+                    quotedBreak = chunk.length;
+                }
+            } else if (c == '\n') {
+                chunk.endRecord(recordStart);
+                recordStart = chunk.length;
+                fieldStart = true;
+                afterClosingQuote = false;
+                continue;
+            } else {
+                if (c == '"' && fieldStart) {
+                    quoteStart = chunk.length;
+                    quotedBreak = -1;
+                }
+                // "" right after a closing quote is an escaped quote, so the section reopens
+                inQuotes = c == '"' && (fieldStart || afterClosingQuote);
+                fieldStart = c == ',';
+                afterClosingQuote = false;
+            }
+
+            chunk.append(c);
+
+            if (inQuotes && quotedBreak >= 0 && chunk.length - quoteStart > MAX_QUOTED_CHARS) {
+                failUnclosedQuote(chunk, recordStart, quotedBreak);
+                recordStart = chunk.length;
+                inQuotes = false;
+                fieldStart = true;
+                afterClosingQuote = false;
+                quotedBreak = -1;
+            }
+        }
+
+        return chunk.count == 0 ? null : chunk;
+    }
+
+    /**
+     * Ends the current record at {@code lineBreak} and queues what followed
+     * it to be read again, ahead of anything not yet replayed.
+     */
+    private void failUnclosedQuote(Chunk chunk, int recordStart, int lineBreak) {
+
+        int rescanned = chunk.length - (lineBreak + 1);
+        int pending = replay.length - replayPosition;
+
+        char[] next = new char[rescanned + pending];
+        System.arraycopy(chunk.data, lineBreak + 1, next, 0, rescanned);
+        System.arraycopy(replay, replayPosition, next, rescanned, pending);
+
+        replay = next;
+        replayPosition = 0;
+
+        chunk.length = lineBreak;
+        chunk.endRecord(recordStart);
+    }
+
+    private int read() throws IOException {
+
+        if (replayPosition < replay.length) {
+            return replay[replayPosition++];
+        }
+
+        if (position == limit && (endOfStream || !fill())) {
+            return -1;
+        }
+
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer);
+
+        if (read <= 0) {
+            endOfStream = true;
+            return false;
+        }
+
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    static final class Chunk {
+
+        char[] data = new char[8 * 1024];
+        int length;
+
+        final int[] starts;
+        final int[] ends;
+        int count;
+
+        Chunk(int maxRecords) {
+            starts = new int[maxRecords];
+            ends = new int[maxRecords];
+        }
+
+        private void append(char c) {
+            if (length == data.length) {
+                data = Arrays.copyOf(data, length * 2);
+            }
+            data[length++] = c;
+        }
+
+        private void endRecord(int recordStart) {
+            int end = length;
+
+            // CRLF line endings
+            if (end > recordStart && data[end - 1] == '\r') {
+                end--;
+            }
+
+            starts[count] = recordStart;
+            ends[count] = end;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.inventory.util;
+
+import java.time.LocalDate;
+
+/**
+ * RFC 4180 field splitter that works on a slice of a shared char buffer.
+ * <p>
+ * {@link #tokenize} only records field boundaries; nothing is copied until a
+ * field is asked for as a String. Numbers and ISO dates are parsed straight
+ * from the buffer by {@link FieldParser}, and malformed values come back as
+ * sentinels ({@code NaN}, {@link #NOT_A_NUMBER}, {@code null}) rather than
+ * exceptions.
+ * Not thread-safe: each parsing task uses its own instance and reuses it for
+ * every record of its chunk.
+ */
+final class CsvTokenizer {
+
+    static final long NOT_A_NUMBER = FieldParser.NOT_A_NUMBER;
+
+    private static final int MAX_FIELDS = 16;
+
+    private final int[] starts = new int[MAX_FIELDS];
+    private final int[] ends = new int[MAX_FIELDS];
+    private final boolean[] escaped = new boolean[MAX_FIELDS];
+
+    private char[] scratch = new char[64];
+    private char[] data;
+    private int count;
+
+    /**
+     * Splits {@code data[from, to)} into fields. Returns false for a record
+     * with an unterminated quote or text after a closing quote. Fields past
+     * the sixteenth are ignored.
+     */
+    boolean tokenize(char[] data, int from, int to) {
+
+        this.data = data;
+        this.count = 0;
+
+        int pos = from;
+
+        while (count < MAX_FIELDS) {
+
+            if (pos < to && data[pos] == '"') {
+                int start = ++pos;
+                boolean hasEscapes = false;
+
+                while (true) {
+                    if (pos >= to) return false;
+
+                    if (data[pos] == '"') {
+                        if (pos + 1 < to && data[pos + 1] == '"') {
+                            hasEscapes = true;
+                            pos += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    pos++;
+                }
+
+                add(start, pos, hasEscapes);
+                pos++;
+
+                if (pos < to && data[pos] != ',') return false;
+
+            } else {
+                int start = pos;
+                while (pos < to && data[pos] != ',') pos++;
+                add(start, pos, false);
+            }
+
+            if (pos >= to) return true;
+
+            // skip the comma; a trailing one yields an empty last field
+            pos++;
+        }
+
+        return true;
+    }
+
+    int fieldCount() {
+        return count;
+    }
+
+    String string(int field) {
+
+        int start = starts[field], end = ends[field];
+
+        if (!escaped[field]) {
+            return new String(data, start, end - start);
+        }
+
+        if (scratch.length < end - start) {
+            scratch = new char[end - start];
+        }
+
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            scratch[length++] = data[i];
+            // "" inside a quoted field is one quote
+            if (data[i] == '"') i++;
+        }
+
+        return new String(scratch, 0, length);
+    }
+
+    // quoted fields with escapes are never numbers or dates
+
+    double parseDouble(int field) {
+        return escaped[field] ? Double.NaN : FieldParser.parseDouble(data, starts[field], ends[field]);
+    }
+
+    long parseInt(int field) {
+        return escaped[field] ? NOT_A_NUMBER : FieldParser.parseInt(data, starts[field], ends[field]);
+    }
+
+    LocalDate parseDate(int field) {
+        return escaped[field] ? null : FieldParser.parseDate(data, starts[field], ends[field]);
+    }
+
+    private void add(int start, int end, boolean hasEscapes) {
+        starts[count] = start;
+        ends[count] = end;
+        escaped[count] = hasEscapes;
+        count++;
+    }
+}
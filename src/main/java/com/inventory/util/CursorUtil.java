@@ -0,0 +1,60 @@
+package com.inventory.util;
+
+import com.inventory.entity.Inventory;
+import com.inventory.exception.IllegalArgumentException;
+import com.inventory.repository.ProductSortKey;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the position of the last row of a scroll page as an opaque token:
+ * sort key, direction, id and sort value, Base64 (URL safe) encoded.
+ */
+public class CursorUtil {
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(ProductSortKey sortKey, boolean descending, Inventory last) {
+
+        String raw = sortKey.getApiName()
+                + SEPARATOR + (descending ? "desc" : "asc")
+                + SEPARATOR + last.getId()
+                + SEPARATOR + sortKey.getExtractor().apply(last);
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Position decode(String cursor, ProductSortKey sortKey, boolean descending)
+            throws IllegalArgumentException {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            // the sort value goes last so product names containing the separator survive
+            String[] parts = raw.split("\\|", 4);
+
+            if (parts.length != 4
+                    || !parts[0].equals(sortKey.getApiName())
+                    || !parts[1].equals(descending ? "desc" : "asc")) {
+                throw new IllegalArgumentException("Cursor does not match sortBy and direction");
+            }
+
+            return new Position(sortKey.getParser().apply(parts[3]), Long.valueOf(parts[2]));
+
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Position {
+        private final Object value;
+        private final Long id;
+    }
+}
@@ -3,105 +3,330 @@ package com.inventory.util;
 import com.inventory.dto.ExcelUploadResultDTO;
 import com.inventory.dto.ProductDTO;
 import com.inventory.exception.InvalidExcelException;
+import com.inventory.ingest.RowErrorCollector;
+import com.inventory.ingest.UploadTimings;
 import com.inventory.validator.ProductValidator;
-import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.ZipException;
 
+/**
+ * Reads the first sheet of an .xlsx file with POI's streaming SAX API, so
+ * only the current row (plus the shared strings table) is held in memory
+ * instead of the whole workbook DOM.
+ */
 public class ExcelReaderUtil {
 
+    private static final int COLUMN_COUNT = 6;
+
+    private static final String EMPTY_ROW = "Empty row";
+    private static final String INVALID_CELL = "Invalid cell value";
+    private static final String INVALID_FORMAT = "Invalid Excel format";
+
     public static ExcelUploadResultDTO readExcel(
             MultipartFile file,
             List<ProductDTO> validProducts
     ) {
+        return readExcel(file, validProducts::add);
+    }
 
-        int total = 0, success = 0, failed = 0;
-        List<String> errors = new ArrayList<>();
+    /**
+     * Streams every valid row into {@code sink} as soon as it is parsed.
+     */
+    public static ExcelUploadResultDTO readExcel(
+            InputStreamSource source,
+            Consumer<ProductDTO> sink
+    ) {
+        return readExcel(source, sink, null, new RowErrorCollector(RowErrorCollector.DEFAULT_DETAIL_LIMIT));
+    }
 
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = WorkbookFactory.create(is)) {
+    /**
+     * As {@link #readExcel(InputStreamSource, Consumer)}, reporting failed
+     * rows to {@code errors} and adding validation time to {@code timings}
+     * when it is not null.
+     */
+    public static ExcelUploadResultDTO readExcel(
+            InputStreamSource source,
+            Consumer<ProductDTO> sink,
+            UploadTimings timings,
+            RowErrorCollector errors
+    ) {
 
-            FormulaEvaluator evaluator =
-                    workbook.getCreationHelper().createFormulaEvaluator();
+        RowHandler rowHandler = new RowHandler(sink, timings, errors);
+        Path workbookFile = null;
 
-            Sheet sheet = workbook.getSheetAt(0);
+        try {
+            workbookFile = copyToTempFile(source);
+            parseFirstSheet(workbookFile, rowHandler);
+        } finally {
+            deleteQuietly(workbookFile);
+        }
 
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                total++;
+        return rowHandler.result();
+    }
+
+    // OPCPackage reads zip entries lazily from a file, but buffers a whole stream
+    private static Path copyToTempFile(InputStreamSource source) {
+        try {
+            Path copy = Files.createTempFile("inventory-upload-", ".xlsx");
+            try (InputStream is = source.getInputStream()) {
+                Files.copy(is, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return copy;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not buffer upload", e);
+        }
+    }
+
+    /**
+     * Streams the first sheet into {@code rowHandler}. Files POI cannot read
+     * as a workbook are reported with POI's reason; I/O failures and errors
+     * from the row sink are left to propagate.
+     */
+    private static void parseFirstSheet(Path workbookFile, RowHandler rowHandler) {
+
+        try {
+            OPCPackage pkg = OPCPackage.open(workbookFile.toFile(), PackageAccess.READ);
+            try {
+                XSSFReader reader = new XSSFReader(pkg);
+                StylesTable styles = reader.getStylesTable();
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    throw new InvalidExcelException("Workbook has no sheets");
+                }
 
-                try {
-                    Row row = sheet.getRow(i);
-                    if (row == null) {
-                        failed++;
-                        errors.add("Row " + (i + 1) + ": Empty row");
-                        continue;
-                    }
-
-                    ProductDTO product = ProductDTO.builder()
-                            .productSku(getCellValue(row.getCell(0), evaluator))
-                            .productName(getCellValue(row.getCell(1), evaluator))
-                            .category(getCellValue(row.getCell(2), evaluator))
-                            .purchaseDate(getDateValue(row.getCell(3), evaluator))
-                            .unitPrice(Double.parseDouble(getCellValue(row.getCell(4), evaluator)))
-                            .quantity((int) Double.parseDouble(getCellValue(row.getCell(5), evaluator)))
-                            .build();
-
-                    ProductValidator.validate(product);
-                    validProducts.add(product);
-                    success++;
-
-                } catch (Exception e) {
-                    failed++;
-                    errors.add("Row " + (i + 1) + ": " + e.getMessage());
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(
+                            styles, strings, rowHandler, new RawValueFormatter(), false));
+                    parser.parse(new InputSource(sheet));
                 }
+            } finally {
+                pkg.revert();
             }
 
-        } catch (Exception e) {
-            throw new InvalidExcelException("Invalid Excel format");
+        } catch (OpenXML4JException | SAXException | POIXMLException
+                 | UnsupportedFileFormatException | ZipException e) {
+            throw new InvalidExcelException(e.getMessage() == null
+                    ? INVALID_FORMAT
+                    : INVALID_FORMAT + ": " + e.getMessage());
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("No XML parser available", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read uploaded workbook", e);
         }
-
-        return ExcelUploadResultDTO.builder()
-                .totalRows(total)
-                .successCount(success)
-                .failedCount(failed)
-                .errors(errors)
-                .build();
     }
 
-    private static String getCellValue(Cell cell, FormulaEvaluator evaluator) {
-        if (cell == null) return "";
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
 
-        return switch (cell.getCellType()) {
-            case STRING -> cell.getStringCellValue();
-            case NUMERIC -> String.valueOf(cell.getNumericCellValue());
-            case FORMULA -> evaluator.evaluate(cell).formatAsString();
-            default -> "";
-        };
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // temp directory cleanup will get it
+        }
     }
 
-    private static LocalDate getDateValue(Cell cell, FormulaEvaluator evaluator) {
-        if (cell == null) return null;
+    /**
+     * Receives one row at a time from the SAX parser. Rows missing from the
+     * sheet XML are reported as empty, matching the usermodel's null rows.
+     */
+    private static class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Consumer<ProductDTO> sink;
+        private final UploadTimings timings;
+        private final RowErrorCollector errors;
+        private final LocalDate today = LocalDate.now();
+        private final String[] cells = new String[COLUMN_COUNT];
+
+        private char[] scratch = new char[32];
+
+        private int total, success, failed;
+        private int lastRowNum;
+        private int nextColumn;
+
+        RowHandler(Consumer<ProductDTO> sink, UploadTimings timings, RowErrorCollector errors) {
+            this.sink = sink;
+            this.timings = timings;
+            this.errors = errors;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+
+            for (int missing = lastRowNum + 1; missing < rowNum; missing++) {
+                total++;
+                failed++;
+                errors.add(EMPTY_ROW, "Row " + (missing + 1) + ": " + EMPTY_ROW);
+            }
+
+            lastRowNum = rowNum;
+            nextColumn = 0;
+            Arrays.fill(cells, null);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+
+            int column = cellReference == null ? nextColumn : columnIndex(cellReference);
+            nextColumn = column + 1;
+
+            if (column < COLUMN_COUNT) {
+                cells[column] = formattedValue;
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
 
-        if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
-            return cell.getDateCellValue()
-                    .toInstant()
-                    .atZone(ZoneId.systemDefault())
-                    .toLocalDate();
+            // row 0 is the header
+            if (rowNum == 0) return;
+
+            total++;
+
+            LocalDate purchaseDate = date(3);
+            double unitPrice = number(4);
+            double quantity = number(5);
+
+            // a blank date is left to the validator, anything else unparseable is a bad cell
+            if ((purchaseDate == null && cells[3] != null) || Double.isNaN(unitPrice) || Double.isNaN(quantity)) {
+                failed++;
+                errors.add(INVALID_CELL, "Row " + (rowNum + 1) + ": " + INVALID_CELL);
+                return;
+            }
+
+            ProductDTO product = ProductDTO.builder()
+                    .productSku(text(0))
+                    .productName(text(1))
+                    .category(text(2))
+                    .purchaseDate(purchaseDate)
+                    .unitPrice(unitPrice)
+                    .quantity((int) quantity)
+                    .build();
+
+            ProductValidator.Violation violation = check(product);
+
+            if (violation != null) {
+                failed++;
+                errors.add(violation.getMessage(), "Row " + (rowNum + 1) + ": " + violation.getMessage());
+                return;
+            }
+
+            // a failing sink aborts the read instead of failing one row
+            sink.accept(product);
+            success++;
+        }
+
+        private ProductValidator.Violation check(ProductDTO product) {
+
+            if (timings == null) {
+                return ProductValidator.check(product, today);
+            }
+
+            long start = System.nanoTime();
+            ProductValidator.Violation violation = ProductValidator.check(product, today);
+            timings.addValidation(System.nanoTime() - start);
+
+            return violation;
+        }
+
+        ExcelUploadResultDTO result() {
+            ExcelUploadResultDTO result = ExcelUploadResultDTO.builder()
+                    .totalRows(total)
+                    .successCount(success)
+                    .failedCount(failed)
+                    .build();
+            errors.applyTo(result);
+
+            return result;
+        }
+
+        private String text(int column) {
+            return cells[column] == null ? "" : cells[column];
+        }
+
+        private LocalDate date(int column) {
+            return cells[column] == null ? null : FieldParser.parseDate(scratch, 0, load(column));
+        }
+
+        private double number(int column) {
+            return FieldParser.parseDouble(scratch, 0, load(column));
         }
 
-        if (cell.getCellType() == CellType.FORMULA) {
-            CellValue value = evaluator.evaluate(cell);
-            return DateUtil.getJavaDate(value.getNumberValue())
-                    .toInstant()
-                    .atZone(ZoneId.systemDefault())
-                    .toLocalDate();
+        // copies the cell into the scratch buffer so FieldParser can read it without throwing
+        private int load(int column) {
+            String value = text(column);
+            int length = value.length();
+
+            if (scratch.length < length) {
+                scratch = new char[length];
+            }
+            value.getChars(0, length, scratch, 0);
+
+            return length;
         }
 
-        return LocalDate.parse(cell.getStringCellValue());
+        // "AB12" -> 27
+        private static int columnIndex(String cellReference) {
+            int column = 0;
+
+            for (int i = 0; i < cellReference.length(); i++) {
+                char c = cellReference.charAt(i);
+                if (c < 'A' || c > 'Z') break;
+                column = column * 26 + (c - 'A' + 1);
+            }
+
+            return column - 1;
+        }
+    }
+
+    /**
+     * Hands numeric cells to the row handler unformatted: dates as ISO
+     * yyyy-MM-dd and everything else as the raw double, which is what the
+     * old usermodel reader parsed.
+     */
+    private static class RawValueFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(
+                double value, int formatIndex, String formatString, boolean use1904Windowing) {
+
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+
+            return String.valueOf(value);
+        }
     }
 }
@@ -0,0 +1,27 @@
+package com.inventory.util;
+
+import com.inventory.exception.IllegalArgumentException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    public static ExportFormat from(String format) throws IllegalArgumentException {
+
+        for (ExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Export format must be csv or ndjson");
+    }
+}
@@ -0,0 +1,139 @@
+package com.inventory.util;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Number and ISO date parsing over a slice of a char buffer, shared by the
+ * CSV tokenizer and the Excel row handler. Malformed values come back as
+ * sentinels ({@code NaN}, {@link #NOT_A_NUMBER}, {@code null}) rather than
+ * exceptions, so bad rows cost no more than good ones.
+ */
+final class FieldParser {
+
+    static final long NOT_A_NUMBER = Long.MIN_VALUE;
+
+    // exactly representable powers of ten, so mantissa / POW10[n] rounds once
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private FieldParser() {
+    }
+
+    /**
+     * Decimal number, optionally signed, surrounding spaces allowed.
+     * Plain decimals of up to 15 significant digits are converted without
+     * allocating; exponent notation falls back to {@link Double#parseDouble}.
+     */
+    static double parseDouble(char[] data, int start, int end) {
+
+        while (start < end && data[start] == ' ') start++;
+        while (end > start && data[end - 1] == ' ') end--;
+
+        int pos = start;
+        boolean negative = false;
+
+        if (pos < end && (data[pos] == '-' || data[pos] == '+')) {
+            negative = data[pos] == '-';
+            pos++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int fractionDigits = -1;
+        boolean sawDigit = false;
+
+        for (; pos < end; pos++) {
+            char c = data[pos];
+
+            if (c >= '0' && c <= '9') {
+                if (significantDigits == 15) return parseSlow(data, start, end);
+                sawDigit = true;
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) significantDigits++;
+                if (fractionDigits >= 0) fractionDigits++;
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (c == 'e' || c == 'E') {
+                return parseSlow(data, start, end);
+            } else {
+                return Double.NaN;
+            }
+        }
+
+        if (!sawDigit) return Double.NaN;
+
+        if (fractionDigits >= POW10.length) return parseSlow(data, start, end);
+
+        double value = fractionDigits > 0 ? mantissa / POW10[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Plain integer in {@code int} range, or {@link #NOT_A_NUMBER}.
+     */
+    static long parseInt(char[] data, int start, int end) {
+
+        int pos = start;
+        boolean negative = false;
+
+        if (pos < end && (data[pos] == '-' || data[pos] == '+')) {
+            negative = data[pos] == '-';
+            pos++;
+        }
+
+        if (pos == end || end - pos > 10) return NOT_A_NUMBER;
+
+        long value = 0;
+        for (; pos < end; pos++) {
+            char c = data[pos];
+            if (c < '0' || c > '9') return NOT_A_NUMBER;
+            value = value * 10 + (c - '0');
+        }
+
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? NOT_A_NUMBER : value;
+    }
+
+    /**
+     * ISO {@code yyyy-MM-dd} date, or null when the text is not a valid date.
+     */
+    static LocalDate parseDate(char[] data, int start, int end) {
+
+        if (end - start != 10 || data[start + 4] != '-' || data[start + 7] != '-') {
+            return null;
+        }
+
+        int year = digits(data, start, 4);
+        int month = digits(data, start + 5, 2);
+        int day = digits(data, start + 8, 2);
+
+        if (year < 0 || month < 1 || month > 12 || day < 1) return null;
+
+        int monthLength = Month.of(month).length(Year.isLeap(year));
+        return day > monthLength ? null : LocalDate.of(year, month, day);
+    }
+
+    private static int digits(char[] data, int from, int length) {
+        int value = 0;
+
+        for (int i = from; i < from + length; i++) {
+            char c = data[i];
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
+    }
+
+    private static double parseSlow(char[] data, int start, int end) {
+        try {
+            return Double.parseDouble(new String(data, start, end - start));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.inventory.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.inventory.dto.ProductDTO;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes exported rows one at a time. The CSV columns start with the upload
+ * columns in upload order, so an export can be uploaded again as is.
+ */
+public class ProductExportUtil {
+
+    static final String CSV_HEADER =
+            "Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity,Stock Age,Inventory Value";
+
+    /**
+     * NDJSON row writer sharing the API's Jackson settings; indentation is
+     * switched off since every object must sit on one line.
+     */
+    public static ObjectWriter jsonWriter(ObjectMapper mapper) {
+        return mapper.writerFor(ProductDTO.class).without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public static void writeHeader(ExportFormat format, Writer out) throws IOException {
+        if (format == ExportFormat.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+    }
+
+    public static void writeRow(ExportFormat format, ProductDTO product, ObjectWriter json, Writer out)
+            throws IOException {
+
+        if (format == ExportFormat.NDJSON) {
+            out.write(json.writeValueAsString(product));
+            out.write('\n');
+            return;
+        }
+
+        out.write(csvField(product.getProductSku()));
+        out.write(',');
+        out.write(csvField(product.getProductName()));
+        out.write(',');
+        out.write(csvField(product.getCategory()));
+        out.write(',');
+        out.write(String.valueOf(product.getPurchaseDate()));
+        out.write(',');
+        out.write(String.valueOf(product.getUnitPrice()));
+        out.write(',');
+        out.write(String.valueOf(product.getQuantity()));
+        out.write(',');
+        out.write(String.valueOf(product.getStockAge()));
+        out.write(',');
+        out.write(String.valueOf(product.getInventoryValue()));
+        out.write('\n');
+    }
+
+    // RFC 4180: quote fields holding a comma, quote or line break, doubling inner quotes
+    static String csvField(String value) {
+
+        if (value == null) {
+            return "";
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+
+        return value;
+    }
+}
@@ -2,39 +2,79 @@ package com.inventory.validator;
 
 import com.inventory.dto.ProductDTO;
 import com.inventory.exception.InvalidExcelException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDate;
 
+/**
+ * Row rules for uploaded products.
+ * <p>
+ * {@link #check(ProductDTO, LocalDate)} reports the first broken rule as a
+ * constant, without allocating or throwing, so files with many bad rows
+ * validate as fast as clean ones. {@link #validate(ProductDTO)} is the
+ * throwing form for single-item callers.
+ */
 public class ProductValidator {
 
+    @Getter
+    @RequiredArgsConstructor
+    public enum Violation {
+
+        SKU_MISSING("Product SKU is mandatory"),
+        NAME_MISSING("Product Name is mandatory"),
+        CATEGORY_MISSING("Category is mandatory"),
+        PURCHASE_DATE_MISSING("Purchase Date is mandatory"),
+        PURCHASE_DATE_IN_FUTURE("Purchase Date cannot be in future"),
+        UNIT_PRICE_NOT_POSITIVE("Unit Price must be greater than zero"),
+        QUANTITY_NOT_POSITIVE("Quantity must be greater than zero");
+
+        private final String message;
+    }
+
     public static void validate(ProductDTO item) {
 
+        Violation violation = check(item, LocalDate.now());
+
+        if (violation != null) {
+            throw new InvalidExcelException(violation.getMessage());
+        }
+    }
+
+    /**
+     * Returns the first rule {@code item} breaks, or null when it is valid.
+     * {@code today} is passed in so a reader can fetch it once per file.
+     */
+    public static Violation check(ProductDTO item, LocalDate today) {
+
         if (item.getProductSku() == null || item.getProductSku().isBlank()) {
-            throw new InvalidExcelException("Product SKU is mandatory");
+            return Violation.SKU_MISSING;
         }
 
         if (item.getProductName() == null || item.getProductName().isBlank()) {
-            throw new InvalidExcelException("Product Name is mandatory");
+            return Violation.NAME_MISSING;
         }
 
         if (item.getCategory() == null || item.getCategory().isBlank()) {
-            throw new InvalidExcelException("Category is mandatory");
+            return Violation.CATEGORY_MISSING;
         }
 
         if (item.getPurchaseDate() == null) {
-            throw new InvalidExcelException("Purchase Date is mandatory");
+            return Violation.PURCHASE_DATE_MISSING;
         }
 
-        if (item.getPurchaseDate().isAfter(LocalDate.now())) {
-            throw new InvalidExcelException("Purchase Date cannot be in future");
+        if (item.getPurchaseDate().isAfter(today)) {
+            return Violation.PURCHASE_DATE_IN_FUTURE;
         }
 
         if (item.getUnitPrice() <= 0) {
-            throw new InvalidExcelException("Unit Price must be greater than zero");
+            return Violation.UNIT_PRICE_NOT_POSITIVE;
         }
 
         if (item.getQuantity() <= 0) {
-            throw new InvalidExcelException("Quantity must be greater than zero");
+            return Violation.QUANTITY_NOT_POSITIVE;
         }
+
+        return null;
     }
 }
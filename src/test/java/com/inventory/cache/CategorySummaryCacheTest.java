@@ -0,0 +1,58 @@
+package com.inventory.cache;
+
+import com.inventory.dto.CategorySummaryDTO;
+import com.inventory.repository.CategorySummaryView;
+import com.inventory.repository.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategorySummaryCacheTest {
+
+    private final InventoryRepository inventoryRepository = Mockito.mock(InventoryRepository.class);
+    private final InventoryDataVersion dataVersion = new InventoryDataVersion();
+    private final CategorySummaryCache cache = new CategorySummaryCache(inventoryRepository, dataVersion);
+
+    private final LocalDate today = LocalDate.of(2025, 6, 30);
+
+    @Test
+    void summary_shouldQueryOncePerDataVersion() {
+
+        CategorySummaryView furniture = view("Furniture", 2, 900.0, 150.0,
+                today.minusDays(10).toEpochDay() + today.minusDays(30).toEpochDay());
+        when(inventoryRepository.summarizeByCategory()).thenReturn(List.of(furniture));
+
+        List<CategorySummaryDTO> first = cache.summary(today);
+        cache.summary(today.plusDays(1));
+        verify(inventoryRepository, times(1)).summarizeByCategory();
+
+        assertEquals("Furniture", first.get(0).getCategory());
+        assertEquals(2, first.get(0).getTotalProducts());
+        assertEquals(150.0, first.get(0).getAverageUnitPrice());
+        assertEquals(20.0, first.get(0).getAverageStockAge());
+        assertEquals(21.0, cache.summary(today.plusDays(1)).get(0).getAverageStockAge());
+
+        dataVersion.bump();
+        cache.summary(today);
+        verify(inventoryRepository, times(2)).summarizeByCategory();
+    }
+
+    private static CategorySummaryView view(
+            String category, long count, double value, double avgPrice, long epochDaySum) {
+
+        CategorySummaryView view = Mockito.mock(CategorySummaryView.class);
+        when(view.getCategory()).thenReturn(category);
+        when(view.getTotalProducts()).thenReturn(count);
+        when(view.getTotalInventoryValue()).thenReturn(value);
+        when(view.getAverageUnitPrice()).thenReturn(avgPrice);
+        when(view.getPurchaseEpochDaySum()).thenReturn(epochDaySum);
+        return view;
+    }
+}
@@ -0,0 +1,70 @@
+package com.inventory.cache;
+
+import com.inventory.dto.ProductSummaryDTO;
+import com.inventory.repository.InventoryRepository;
+import com.inventory.repository.InventorySummaryView;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class InventorySummaryAccumulatorTest {
+
+    private final InventoryRepository inventoryRepository = Mockito.mock(InventoryRepository.class);
+    private final InventorySummaryAccumulator accumulator =
+            new InventorySummaryAccumulator(inventoryRepository);
+
+    private final LocalDate today = LocalDate.of(2025, 6, 30);
+
+    @Test
+    void summary_shouldDeriveAverageAgeFromEpochDaySum() {
+
+        // purchased 10 and 20 days ago
+        long epochDays = today.minusDays(10).toEpochDay() + today.minusDays(20).toEpochDay();
+
+        accumulator.replace(new InventorySummaryAccumulator.Totals(2, 1500.0, epochDays));
+
+        ProductSummaryDTO summary = accumulator.summary(today);
+
+        assertEquals(2, summary.getTotalProducts());
+        assertEquals(1500.0, summary.getTotalInventoryValue());
+        assertEquals(15.0, summary.getAverageStockAge());
+
+        // a day later every row is one day older, without touching the totals
+        assertEquals(16.0, accumulator.summary(today.plusDays(1)).getAverageStockAge());
+    }
+
+    @Test
+    void summary_shouldBeZeroAfterReset() {
+
+        accumulator.replace(new InventorySummaryAccumulator.Totals(3, 99.0, 60000));
+        accumulator.reset();
+
+        ProductSummaryDTO summary = accumulator.summary(today);
+
+        assertEquals(0, summary.getTotalProducts());
+        assertEquals(0.0, summary.getTotalInventoryValue());
+        assertEquals(0.0, summary.getAverageStockAge());
+    }
+
+    @Test
+    void rebuild_shouldLoadTotalsFromAggregateQuery() {
+
+        InventorySummaryView view = Mockito.mock(InventorySummaryView.class);
+        when(view.getTotalProducts()).thenReturn(4L);
+        when(view.getTotalInventoryValue()).thenReturn(400.0);
+        when(view.getPurchaseEpochDaySum()).thenReturn(today.minusDays(5).toEpochDay() * 4);
+        when(inventoryRepository.summarize()).thenReturn(view);
+
+        accumulator.rebuild();
+
+        ProductSummaryDTO summary = accumulator.summary(today);
+
+        assertEquals(4, summary.getTotalProducts());
+        assertEquals(400.0, summary.getTotalInventoryValue());
+        assertEquals(5.0, summary.getAverageStockAge());
+    }
+}
@@ -0,0 +1,82 @@
+package com.inventory.cache;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.CacheStatsDTO;
+import com.inventory.dto.PageResponseDTO;
+import com.inventory.dto.ProductDTO;
+import com.inventory.repository.ProductFilter;
+import com.inventory.repository.ProductSortKey;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductPageCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    private final InventoryDataVersion dataVersion = new InventoryDataVersion();
+    private final ProductPageCache cache = new ProductPageCache(new InventoryProperties(), dataVersion);
+
+    private final PageResponseDTO<ProductDTO> page = PageResponseDTO.<ProductDTO>builder()
+            .content(List.of())
+            .build();
+
+    @Test
+    void get_shouldCountHitsAndMisses() {
+
+        ProductPageCache.PageKey key = cache.keyFor(TODAY, ProductSortKey.QUANTITY, true, 2, 25, ProductFilter.NONE);
+
+        assertNull(cache.get(key));
+        cache.put(key, page);
+        assertSame(page, cache.get(cache.keyFor(TODAY, ProductSortKey.QUANTITY, true, 2, 25, ProductFilter.NONE)));
+
+        CacheStatsDTO stats = cache.stats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getEntries());
+    }
+
+    @Test
+    void invalidate_shouldRetireKeysTakenBeforeIt() {
+
+        // a page computed while an upload commits is stored after the invalidation
+        ProductPageCache.PageKey staleKey = cache.keyFor(TODAY, ProductSortKey.PRODUCT_NAME, false, 0, 10, ProductFilter.NONE);
+        cache.invalidate();
+        cache.put(staleKey, page);
+
+        assertNull(cache.get(cache.keyFor(TODAY, ProductSortKey.PRODUCT_NAME, false, 0, 10, ProductFilter.NONE)));
+        assertEquals(1, dataVersion.current());
+    }
+
+    @Test
+    void get_shouldNotServeAPageComputedForAnotherDay() {
+
+        cache.put(cache.keyFor(TODAY, ProductSortKey.QUANTITY, false, 0, 10, ProductFilter.NONE), page);
+
+        assertNull(cache.get(cache.keyFor(TODAY.plusDays(1), ProductSortKey.QUANTITY, false, 0, 10, ProductFilter.NONE)));
+    }
+
+    @Test
+    void put_shouldBoundTheCacheByRowsRatherThanPages() throws InterruptedException {
+
+        InventoryProperties properties = new InventoryProperties();
+        properties.getCache().setProductPageRows(100);
+        ProductPageCache small = new ProductPageCache(properties, dataVersion);
+
+        PageResponseDTO<ProductDTO> huge = PageResponseDTO.<ProductDTO>builder()
+                .content(Collections.nCopies(1_000, ProductDTO.builder().build()))
+                .build();
+
+        small.put(small.keyFor(TODAY, ProductSortKey.QUANTITY, false, 0, 1_000, ProductFilter.NONE), huge);
+
+        // eviction runs on Caffeine's maintenance executor
+        for (int i = 0; i < 500 && small.stats().getEntries() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, small.stats().getEntries());
+    }
+}
@@ -0,0 +1,137 @@
+package com.inventory.catalogue;
+
+import com.inventory.cache.InventorySummaryAccumulator;
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ProductDTO;
+import com.inventory.repository.InventoryJdbcRepository;
+import com.inventory.repository.ProductFilter;
+import com.inventory.repository.ProductSortKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+class InMemoryCatalogueTest {
+
+    private InMemoryCatalogue catalogue;
+
+    @BeforeEach
+    void setup() {
+
+        InventoryJdbcRepository repository = Mockito.mock(InventoryJdbcRepository.class);
+
+        // id order: A, B, C, D
+        List<ProductDTO> rows = List.of(
+                product("A", "Desk", "2025-03-01", 30, 1),
+                product("B", "Chair", "2025-01-01", 10, 5),
+                product("C", "Lamp", "2025-02-01", 10, 2),
+                product("D", "Bed", "2025-04-01", 99, 1)
+        );
+
+        doAnswer(invocation -> {
+            Consumer<ProductDTO> consumer = invocation.getArgument(0);
+            rows.forEach(consumer);
+            return null;
+        }).when(repository).forEachProduct(any());
+
+        InventoryProperties properties = new InventoryProperties();
+        properties.getCatalogue().setInMemory(true);
+
+        catalogue = new InMemoryCatalogue(repository, properties);
+        catalogue.reload();
+    }
+
+    @Test
+    void page_shouldSliceSortedIndexInBothDirections() {
+
+        assertEquals(List.of("D", "B"), skus(catalogue.page(ProductSortKey.PRODUCT_NAME, false, 0, 2)));
+        assertEquals(List.of("A", "C"), skus(catalogue.page(ProductSortKey.PRODUCT_NAME, false, 1, 2)));
+        assertEquals(List.of("C", "A", "B"), skus(catalogue.page(ProductSortKey.PRODUCT_NAME, true, 0, 3)));
+    }
+
+    @Test
+    void page_shouldKeepIdOrderForTiesAndReverseForStockAge() {
+
+        // B and C tie on unit price
+        assertEquals(List.of("B", "C", "A", "D"), skus(catalogue.page(ProductSortKey.UNIT_PRICE, false, 0, 4)));
+
+        // youngest stock first
+        assertEquals(List.of("D", "A"), skus(catalogue.page(ProductSortKey.STOCK_AGE, false, 0, 2)));
+    }
+
+    @Test
+    void page_shouldReportTotalsAndEnrichRows() {
+
+        Page<ProductDTO> page = catalogue.page(ProductSortKey.QUANTITY, false, 1, 3);
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+        assertEquals(50, page.getContent().get(0).getInventoryValue());
+        assertTrue(page.getContent().get(0).getStockAge() > 0);
+    }
+
+    @Test
+    void page_shouldFilterOnColumnsAndCountMatches() {
+
+        ProductFilter cheapSince = ProductFilter.builder()
+                .purchasedFrom(LocalDate.parse("2025-02-01"))
+                .maxPrice(50.0)
+                .build();
+
+        Page<ProductDTO> page = catalogue.page(ProductSortKey.UNIT_PRICE, true, 0, 1, cheapSince);
+
+        assertEquals(List.of("A"), skus(page));
+        assertEquals(2, page.getTotalElements());
+
+        assertEquals(List.of("C"), skus(catalogue.page(ProductSortKey.UNIT_PRICE, true, 1, 1, cheapSince)));
+        assertEquals(List.of("B"), skus(catalogue.page(ProductSortKey.PRODUCT_NAME, false, 0, 10,
+                ProductFilter.builder().skuPrefix("B").build())));
+        assertEquals(0, catalogue.page(ProductSortKey.PRODUCT_NAME, false, 0, 10,
+                ProductFilter.builder().category("Garden").build()).getTotalElements());
+    }
+
+    @Test
+    void reload_shouldRoundTripColumnsAndComputeTotals() {
+
+        ProductDTO lamp = catalogue.page(ProductSortKey.PRODUCT_NAME, true, 0, 1).getContent().get(0);
+
+        assertEquals("C", lamp.getProductSku());
+        assertEquals("Lamp", lamp.getProductName());
+        assertEquals("Test", lamp.getCategory());
+        assertEquals(LocalDate.parse("2025-02-01"), lamp.getPurchaseDate());
+        assertEquals(2, lamp.getQuantity());
+
+        InventorySummaryAccumulator.Totals totals = catalogue.totals();
+        assertEquals(4, totals.getCount());
+        assertEquals(30 + 50 + 20 + 99, totals.getInventoryValue());
+        assertEquals(
+                LocalDate.parse("2025-03-01").toEpochDay() + LocalDate.parse("2025-01-01").toEpochDay()
+                        + LocalDate.parse("2025-02-01").toEpochDay() + LocalDate.parse("2025-04-01").toEpochDay(),
+                totals.getPurchaseEpochDaySum()
+        );
+    }
+
+    private static List<String> skus(Page<ProductDTO> page) {
+        return page.getContent().stream().map(ProductDTO::getProductSku).toList();
+    }
+
+    private static ProductDTO product(String sku, String name, String date, double price, int quantity) {
+        return ProductDTO.builder()
+                .productSku(sku)
+                .productName(name)
+                .category("Test")
+                .purchaseDate(LocalDate.parse(date))
+                .unitPrice(price)
+                .quantity(quantity)
+                .inventoryValue(price * quantity)
+                .build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.inventory.controller;
 
 import com.inventory.dto.*;
+import com.inventory.ingest.UploadOptions;
+import com.inventory.repository.ProductFilter;
 import com.inventory.service.impl.ProductServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,7 +44,7 @@ class ProductControllerTest {
                 .failedCount(0)
                 .build();
 
-        Mockito.when(productService.uploadFile(any()))
+        Mockito.when(productService.uploadFile(any(), any(UploadOptions.class)))
                 .thenReturn(result);
 
         MockMultipartFile file = new MockMultipartFile(
@@ -59,7 +61,43 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.message").value("Excel processed successfully"))
                 .andExpect(jsonPath("$.data.totalRows").value(10))
                 .andExpect(jsonPath("$.data.successCount").value(10))
-                .andExpect(jsonPath("$.data.failedCount").value(0));
+                .andExpect(jsonPath("$.data.failedCount").value(0))
+                .andExpect(jsonPath("$.data.timings").doesNotExist());
+    }
+
+    @Test
+    void uploadExcelAsync_shouldReturnAcceptedJob() throws Exception {
+
+        Mockito.when(productService.submitUpload(any(), any(UploadOptions.class)))
+                .thenReturn(UploadJobDTO.builder().jobId("job-1").status("QUEUED").build());
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "products.csv", "text/csv", "dummy-content".getBytes());
+
+        mockMvc.perform(multipart("/api/products/upload")
+                        .file(file)
+                        .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.jobId").value("job-1"))
+                .andExpect(jsonPath("$.data.status").value("QUEUED"));
+    }
+
+    @Test
+    void uploadStatus_shouldReturnJobProgress() throws Exception {
+
+        Mockito.when(productService.getUploadJob("job-1"))
+                .thenReturn(UploadJobDTO.builder()
+                        .jobId("job-1")
+                        .status("RUNNING")
+                        .rowsParsed(500)
+                        .rowsPersisted(400)
+                        .build());
+
+        mockMvc.perform(get("/api/products/upload/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("RUNNING"))
+                .andExpect(jsonPath("$.data.rowsParsed").value(500))
+                .andExpect(jsonPath("$.data.rowsPersisted").value(400));
     }
 
     @Test
@@ -85,7 +123,7 @@ class ProductControllerTest {
                         .build();
 
         Mockito.when(productService.getProducts(
-                        anyInt(), anyInt(), anyString(), anyString()))
+                        anyInt(), anyInt(), anyString(), anyString(), any()))
                 .thenReturn(pageResponse);
 
         mockMvc.perform(get("/api/products")
@@ -99,6 +137,86 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.totalElements").value(1));
     }
 
+    @Test
+    void getProducts_shouldPassFiltersToService() throws Exception {
+
+        Mockito.when(productService.getProducts(anyInt(), anyInt(), anyString(), anyString(), any()))
+                .thenReturn(PageResponseDTO.<ProductDTO>builder().content(List.of()).build());
+
+        mockMvc.perform(get("/api/products")
+                        .param("category", "Furniture")
+                        .param("skuPrefix", "SKU-1")
+                        .param("purchasedFrom", "2025-01-01")
+                        .param("maxPrice", "500")
+                        .param("minStockAge", "30"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(productService).getProducts(0, 10, "productName", "asc",
+                ProductFilter.builder()
+                        .category("Furniture")
+                        .skuPrefix("SKU-1")
+                        .purchasedFrom(LocalDate.of(2025, 1, 1))
+                        .maxPrice(500.0)
+                        .minStockAge(30)
+                        .build());
+    }
+
+    @Test
+    void scrollProducts_shouldReturnNextCursor() throws Exception {
+
+        PageResponseDTO<ProductDTO> pageResponse =
+                PageResponseDTO.<ProductDTO>builder()
+                        .content(List.of())
+                        .size(10)
+                        .last(false)
+                        .nextCursor("abc")
+                        .build();
+
+        Mockito.when(productService.scrollProducts(
+                        any(), anyInt(), anyString(), anyString()))
+                .thenReturn(pageResponse);
+
+        mockMvc.perform(get("/api/products/scroll")
+                        .param("size", "10")
+                        .param("sortBy", "unitPrice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.data.last").value(false));
+    }
+
+    @Test
+    void summaryByCategory_shouldReturnOneEntryPerCategory() throws Exception {
+
+        Mockito.when(productService.getCategorySummary())
+                .thenReturn(List.of(CategorySummaryDTO.builder()
+                        .category("Furniture")
+                        .totalProducts(3)
+                        .totalInventoryValue(1200)
+                        .averageUnitPrice(400)
+                        .averageStockAge(12.5)
+                        .build()));
+
+        mockMvc.perform(get("/api/products/summary/by-category"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].category").value("Furniture"))
+                .andExpect(jsonPath("$.data[0].totalProducts").value(3))
+                .andExpect(jsonPath("$.data[0].averageStockAge").value(12.5));
+    }
+
+    @Test
+    void searchProducts_shouldReturnRankedMatches() throws Exception {
+
+        Mockito.when(productService.searchProducts("chair", 5))
+                .thenReturn(List.of(ProductDTO.builder().productSku("SKU-101").productName("Chair").build()));
+
+        mockMvc.perform(get("/api/products/search")
+                        .param("q", "chair")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].productSku").value("SKU-101"));
+    }
+
     @Test
     void getSummary_shouldReturnSummary() throws Exception {
 
@@ -0,0 +1,38 @@
+package com.inventory.ingest;
+
+import com.inventory.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateFilterTest {
+
+    private final LocalDate date = LocalDate.of(2025, 1, 10);
+
+    @Test
+    void filter_shouldRememberKeysAcrossChunks() {
+
+        DuplicateFilter filter = new DuplicateFilter();
+        List<String> errors = new ArrayList<>();
+
+        assertEquals(2, filter.filter(List.of(product("A"), product("B")), errors).size());
+        assertEquals(1, filter.filter(List.of(product("B"), product("C")), errors).size());
+
+        assertEquals(List.of("Duplicate Product SKU + Purchase Date: B - 2025-01-10"), errors);
+    }
+
+    private ProductDTO product(String sku) {
+        return ProductDTO.builder()
+                .productSku(sku)
+                .productName("Item " + sku)
+                .category("Test")
+                .purchaseDate(date)
+                .unitPrice(10)
+                .quantity(1)
+                .build();
+    }
+}
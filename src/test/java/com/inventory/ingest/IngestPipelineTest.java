@@ -0,0 +1,112 @@
+package com.inventory.ingest;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ExcelUploadResultDTO;
+import com.inventory.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestPipelineTest {
+
+    private IngestPipeline pipeline(int batchSize, int queueCapacity) {
+        InventoryProperties.Ingest settings = new InventoryProperties.Ingest();
+        settings.setBatchSize(batchSize);
+        settings.setQueueCapacity(queueCapacity);
+        return new IngestPipeline(settings);
+    }
+
+    @Test
+    void run_shouldFlushFullBatchesAndTheRemainder() {
+
+        List<Integer> batchSizes = new ArrayList<>();
+
+        ExcelUploadResultDTO result = pipeline(4, 2).run(
+                sink -> {
+                    for (int i = 0; i < 10; i++) {
+                        sink.accept(ProductDTO.builder().productSku("SKU-" + i).build());
+                    }
+                    return ExcelUploadResultDTO.builder().totalRows(10).successCount(10).build();
+                },
+                batch -> batchSizes.add(batch.size())
+        );
+
+        assertEquals(10, result.getSuccessCount());
+        assertEquals(List.of(4, 4, 2), batchSizes);
+    }
+
+    @Test
+    void run_shouldRethrowReaderFailureBeforeFinalFlush() {
+
+        List<Integer> batchSizes = new ArrayList<>();
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> pipeline(4, 8).run(
+                sink -> {
+                    sink.accept(ProductDTO.builder().productSku("SKU-1").build());
+                    throw new RuntimeException("Failed to read CSV file");
+                },
+                batch -> batchSizes.add(batch.size())
+        ));
+
+        assertEquals("Failed to read CSV file", ex.getMessage());
+        assertTrue(batchSizes.isEmpty());
+    }
+
+    @Test
+    void run_shouldStopReaderWhenWriterFails() {
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> pipeline(2, 2).run(
+                sink -> {
+                    // would block forever on the full queue if the reader were not interrupted
+                    for (int i = 0; i < 1_000_000; i++) {
+                        sink.accept(ProductDTO.builder().productSku("SKU-" + i).build());
+                    }
+                    return ExcelUploadResultDTO.builder().build();
+                },
+                batch -> {
+                    throw new IllegalStateException("database down");
+                }
+        ));
+
+        assertEquals("database down", ex.getMessage());
+    }
+
+    @Test
+    void run_shouldWaitForTheReaderBeforeReturning() {
+
+        AtomicBoolean readerDone = new AtomicBoolean();
+        AtomicReference<Thread> readerThread = new AtomicReference<>();
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> pipeline(2, 2).run(
+                sink -> {
+                    readerThread.set(Thread.currentThread());
+                    try {
+                        for (int i = 0; i < 1_000_000; i++) {
+                            sink.accept(ProductDTO.builder().productSku("SKU-" + i).build());
+                        }
+                        return ExcelUploadResultDTO.builder().build();
+                    } finally {
+                        // cleanup that still runs after the writer has given up
+                        long until = System.nanoTime() + 200_000_000L;
+                        while (System.nanoTime() < until) {
+                            Thread.onSpinWait();
+                        }
+                        readerDone.set(true);
+                    }
+                },
+                batch -> {
+                    throw new IllegalStateException("database down");
+                }
+        ));
+
+        assertEquals("database down", ex.getMessage());
+        assertTrue(readerDone.get());
+        assertFalse(readerThread.get().isAlive());
+        assertEquals("Upload was cancelled", ex.getSuppressed()[0].getMessage());
+    }
+}
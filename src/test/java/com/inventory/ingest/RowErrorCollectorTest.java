@@ -0,0 +1,48 @@
+package com.inventory.ingest;
+
+import com.inventory.dto.ExcelUploadResultDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowErrorCollectorTest {
+
+    @Test
+    void applyTo_shouldKeepFirstDetailsAndCountEveryType() {
+
+        RowErrorCollector errors = new RowErrorCollector(2);
+        errors.add("Empty row", "Row 2: Empty row");
+        errors.add("Quantity must be greater than zero", "Row 3: Quantity must be greater than zero");
+        errors.add("Empty row", "Row 4: Empty row");
+
+        ExcelUploadResultDTO result = ExcelUploadResultDTO.builder().build();
+        errors.applyTo(result);
+
+        assertEquals(List.of("Row 2: Empty row", "Row 3: Quantity must be greater than zero"), result.getErrors());
+        assertEquals(Map.of("Empty row", 2, "Quantity must be greater than zero", 1), result.getErrorCounts());
+        assertTrue(result.isErrorsTruncated());
+        assertNull(errors.finishReport());
+    }
+
+    @Test
+    void finishReport_shouldWriteEveryErrorOrDeleteAnEmptyReport(@TempDir Path tempDir) throws Exception {
+
+        Path report = tempDir.resolve("errors.txt");
+        RowErrorCollector errors = new RowErrorCollector(1, report);
+        errors.add("Empty row", "Row 2: Empty row");
+        errors.add("Empty row", "Row 3: Empty row");
+
+        assertEquals(report, errors.finishReport());
+        assertEquals(List.of("Row 2: Empty row", "Row 3: Empty row"), Files.readAllLines(report));
+
+        Path empty = tempDir.resolve("empty.txt");
+        assertNull(new RowErrorCollector(1, empty).finishReport());
+        assertFalse(Files.exists(empty));
+    }
+}
@@ -0,0 +1,115 @@
+package com.inventory.ingest;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ExcelUploadResultDTO;
+import com.inventory.dto.UploadJobDTO;
+import com.inventory.exception.InvalidExcelException;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.exception.UploadJobRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadJobRegistryTest {
+
+    private UploadJobRegistry registry;
+
+    private UploadJobRegistry registry(int workers, int queueCapacity) {
+        InventoryProperties properties = new InventoryProperties();
+        properties.getJobs().setWorkers(workers);
+        properties.getJobs().setQueueCapacity(queueCapacity);
+        registry = new UploadJobRegistry(properties);
+        return registry;
+    }
+
+    @AfterEach
+    void shutdown() {
+        registry.shutdown();
+    }
+
+    private static UploadJobDTO awaitFinished(UploadJobRegistry registry, String jobId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            UploadJobDTO job = registry.get(jobId).toDTO();
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("job did not finish");
+    }
+
+    @Test
+    void submit_shouldReportProgressAndFinalResult() throws Exception {
+
+        UploadJobRegistry registry = registry(1, 4);
+
+        UploadJob job = registry.submit(stats -> {
+            stats.rowParsed();
+            stats.rowParsed();
+            stats.rowsPersisted(1);
+            stats.rowsFailed(1);
+            return ExcelUploadResultDTO.builder().totalRows(2).successCount(1).failedCount(1).build();
+        });
+
+        UploadJobDTO status = awaitFinished(registry, job.getId());
+
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(2, status.getRowsParsed());
+        assertEquals(1, status.getRowsPersisted());
+        assertEquals(1, status.getRowsFailed());
+        assertEquals(2, status.getResult().getTotalRows());
+    }
+
+    @Test
+    void submit_shouldRecordFailureMessage() throws Exception {
+
+        UploadJobRegistry registry = registry(1, 4);
+
+        UploadJob job = registry.submit(stats -> {
+            throw new InvalidExcelException("Invalid Excel format");
+        });
+
+        UploadJobDTO status = awaitFinished(registry, job.getId());
+
+        assertEquals("FAILED", status.getStatus());
+        assertEquals("Invalid Excel format", status.getError());
+        assertNull(status.getResult());
+    }
+
+    @Test
+    void submit_shouldRejectWhenQueueIsFull() throws Exception {
+
+        UploadJobRegistry registry = registry(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        registry.submit(stats -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ExcelUploadResultDTO.builder().build();
+        });
+
+        try {
+            UploadJob queued = registry.submit(stats -> ExcelUploadResultDTO.builder().build());
+
+            // the worker is busy, so a queued job stays in the queue
+            assertThrows(UploadJobRejectedException.class,
+                    () -> registry.submit(stats -> ExcelUploadResultDTO.builder().build()));
+
+            assertNotNull(registry.get(queued.getId()));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void get_shouldRejectUnknownJob() {
+        assertThrows(ResourceNotFoundException.class, () -> registry(1, 1).get("missing"));
+    }
+}
@@ -0,0 +1,221 @@
+package com.inventory.repository;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the hand-written SQL against H2. Not transactional: the staging DDL
+ * commits on its own, so each test starts from an emptied table instead.
+ */
+@DataJpaTest
+@Import({InventoryJdbcRepository.class, InventoryProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryJdbcRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 15);
+
+    @Autowired
+    private InventoryJdbcRepository inventoryJdbcRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void mergeAll_shouldInsertNewKeysAndUpdateChangedRows() {
+
+        inventoryJdbcRepository.mergeAll(List.of(
+                product("SKU-1", "Desk", 100, 2),
+                product("SKU-2", "Lamp", 20, 5)
+        ));
+
+        inventoryJdbcRepository.mergeAll(List.of(
+                product("SKU-1", "Desk", 120, 3),
+                product("SKU-3", "Chair", 50, 1)
+        ));
+
+        assertEquals(3, count());
+        assertEquals(360.0, valueOf("SKU-1"));
+        assertEquals(3, (int) jdbcTemplate.queryForObject(
+                "SELECT quantity FROM inventory WHERE product_sku = 'SKU-1'", Integer.class));
+        assertEquals(100.0, valueOf("SKU-2"));
+        assertEquals(50.0, valueOf("SKU-3"));
+    }
+
+    @Test
+    void mergeAll_shouldLeaveUnchangedRowsAlone() {
+
+        inventoryJdbcRepository.mergeAll(List.of(product("SKU-1", "Desk", 100, 2)));
+
+        // a rewrite would recompute this from price and quantity
+        jdbcTemplate.update("UPDATE inventory SET inventory_value = -1 WHERE product_sku = 'SKU-1'");
+
+        inventoryJdbcRepository.mergeAll(List.of(product("SKU-1", "Desk", 100, 2)));
+
+        assertEquals(1, count());
+        assertEquals(-1.0, valueOf("SKU-1"));
+    }
+
+    @Test
+    void mergeAll_shouldUpdateWhenOnlyANullableColumnChanges() {
+
+        inventoryJdbcRepository.mergeAll(List.of(product("SKU-1", null, 100, 2)));
+        inventoryJdbcRepository.mergeAll(List.of(product("SKU-1", "Desk", 100, 2)));
+
+        assertEquals("Desk", jdbcTemplate.queryForObject(
+                "SELECT product_name FROM inventory WHERE product_sku = 'SKU-1'", String.class));
+    }
+
+    @Test
+    void deleteAllExcept_shouldRemoveRowsMissingFromTheKeySet() {
+
+        inventoryJdbcRepository.mergeAll(List.of(
+                product("SKU-1", "Desk", 100, 2),
+                product("SKU-2", "Lamp", 20, 5),
+                product("SKU-3", "Chair", 50, 1)
+        ));
+
+        int deleted = inventoryJdbcRepository.deleteAllExcept(Set.of(
+                new ProductKey("SKU-1", DAY),
+                new ProductKey("SKU-3", DAY),
+                new ProductKey("SKU-9", DAY)
+        ));
+
+        assertEquals(1, deleted);
+        assertEquals(List.of("SKU-1", "SKU-3"), skus());
+    }
+
+    @Test
+    void deleteAllExcept_shouldCompareTheFullKey() {
+
+        inventoryJdbcRepository.mergeAll(List.of(product("SKU-1", "Desk", 100, 2)));
+
+        int deleted = inventoryJdbcRepository.deleteAllExcept(Set.of(new ProductKey("SKU-1", DAY.plusDays(1))));
+
+        assertEquals(1, deleted);
+        assertEquals(0, count());
+    }
+
+    @Test
+    void publishStaging_shouldReplaceLiveRowsWithStagedOnes() {
+
+        inventoryJdbcRepository.mergeAll(List.of(product("SKU-OLD", "Desk", 100, 2)));
+
+        inventoryJdbcRepository.resetStaging();
+        inventoryJdbcRepository.stageAll(List.of(
+                product("SKU-1", "Lamp", 20, 5),
+                product("SKU-2", "Chair", 50, 1)
+        ));
+
+        Integer published = new TransactionTemplate(transactionManager).execute(status -> {
+            inventoryRepository.deleteAllInBatch();
+            return inventoryJdbcRepository.publishStaging();
+        });
+
+        assertEquals(2, published);
+        assertEquals(List.of("SKU-1", "SKU-2"), skus());
+        assertEquals(100.0, valueOf("SKU-1"));
+
+        inventoryJdbcRepository.clearStaging();
+        assertEquals(0, stagedCount());
+    }
+
+    @Test
+    void stageAll_shouldLeaveLiveTableUntouchedWhenTheLoadFails() {
+
+        inventoryJdbcRepository.mergeAll(List.of(product("SKU-OLD", "Desk", 100, 2)));
+
+        // a second reset finds the table already there and only empties it
+        inventoryJdbcRepository.resetStaging();
+        inventoryJdbcRepository.stageAll(List.of(product("SKU-STALE", "Lamp", 20, 5)));
+        inventoryJdbcRepository.resetStaging();
+        assertEquals(0, stagedCount());
+
+        assertThrows(DataIntegrityViolationException.class, () -> inventoryJdbcRepository.stageAll(List.of(
+                product("SKU-1", "Lamp", 20, 5),
+                product("SKU-1", "Lamp", 20, 5)
+        )));
+
+        inventoryJdbcRepository.clearStaging();
+
+        assertEquals(List.of("SKU-OLD"), skus());
+        assertEquals(200.0, valueOf("SKU-OLD"));
+        assertEquals(0, stagedCount());
+    }
+
+    @Test
+    void forEachSearchKey_shouldStreamIdSkuAndNameInIdOrder() {
+
+        inventoryJdbcRepository.mergeAll(List.of(
+                product("SKU-2", "Lamp", 20, 5),
+                product("SKU-1", "Desk", 100, 2)
+        ));
+
+        List<String> seen = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        inventoryJdbcRepository.forEachSearchKey((id, sku, name) -> {
+            ids.add(id);
+            seen.add(sku + "/" + name);
+        });
+
+        assertEquals(List.of("SKU-2/Lamp", "SKU-1/Desk"), seen);
+        assertTrue(ids.get(0) < ids.get(1));
+    }
+
+    private int stagedCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_staging", Integer.class);
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory", Integer.class);
+    }
+
+    private double valueOf(String sku) {
+        return jdbcTemplate.queryForObject(
+                "SELECT inventory_value FROM inventory WHERE product_sku = ?", Double.class, sku);
+    }
+
+    private List<String> skus() {
+        return jdbcTemplate.queryForList("SELECT product_sku FROM inventory ORDER BY product_sku", String.class);
+    }
+
+    private static ProductDTO product(String sku, String name, double unitPrice, int quantity) {
+        return ProductDTO.builder()
+                .productSku(sku)
+                .productName(name)
+                .category("Furniture")
+                .purchaseDate(DAY)
+                .unitPrice(unitPrice)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.inventory.repository;
+
+import com.inventory.entity.Inventory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class InventoryRepositoryTest {
+
+    private static final LocalDate JAN = LocalDate.of(2025, 1, 15);
+    private static final LocalDate FEB = LocalDate.of(2025, 2, 15);
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Test
+    void summarize_shouldReturnZerosForAnEmptyTable() {
+
+        InventorySummaryView summary = inventoryRepository.summarize();
+
+        assertEquals(0L, summary.getTotalProducts());
+        assertEquals(0.0, summary.getTotalInventoryValue());
+        assertEquals(0L, summary.getPurchaseEpochDaySum());
+    }
+
+    @Test
+    void summarize_shouldAggregateTheWholeTable() {
+
+        inventoryRepository.saveAll(List.of(
+                row("SKU-1", "Furniture", JAN, 100, 2),
+                row("SKU-2", "Furniture", FEB, 50, 1),
+                row("SKU-3", "Lighting", JAN, 20, 5)
+        ));
+
+        InventorySummaryView summary = inventoryRepository.summarize();
+
+        assertEquals(3L, summary.getTotalProducts());
+        assertEquals(350.0, summary.getTotalInventoryValue());
+        assertEquals(2 * JAN.toEpochDay() + FEB.toEpochDay(), summary.getPurchaseEpochDaySum());
+    }
+
+    @Test
+    void summarizeByCategory_shouldReturnOneRowPerCategoryInNameOrder() {
+
+        inventoryRepository.saveAll(List.of(
+                row("SKU-3", "Lighting", JAN, 20, 5),
+                row("SKU-1", "Furniture", JAN, 100, 2),
+                row("SKU-2", "Furniture", FEB, 50, 1)
+        ));
+
+        List<CategorySummaryView> rows = inventoryRepository.summarizeByCategory();
+
+        assertEquals(2, rows.size());
+
+        CategorySummaryView furniture = rows.get(0);
+        assertEquals("Furniture", furniture.getCategory());
+        assertEquals(2L, furniture.getTotalProducts());
+        assertEquals(250.0, furniture.getTotalInventoryValue());
+        assertEquals(75.0, furniture.getAverageUnitPrice());
+        assertEquals(JAN.toEpochDay() + FEB.toEpochDay(), furniture.getPurchaseEpochDaySum());
+
+        CategorySummaryView lighting = rows.get(1);
+        assertEquals("Lighting", lighting.getCategory());
+        assertEquals(1L, lighting.getTotalProducts());
+        assertEquals(100.0, lighting.getTotalInventoryValue());
+    }
+
+    @Test
+    void summarizeByCategory_shouldReturnNothingForAnEmptyTable() {
+        assertTrue(inventoryRepository.summarizeByCategory().isEmpty());
+    }
+
+    private static Inventory row(String sku, String category, LocalDate purchaseDate, double unitPrice, int quantity) {
+        return Inventory.builder()
+                .productSku(sku)
+                .productName("Item " + sku)
+                .category(category)
+                .purchaseDate(purchaseDate)
+                .unitPrice(unitPrice)
+                .quantity(quantity)
+                .build();
+    }
+}
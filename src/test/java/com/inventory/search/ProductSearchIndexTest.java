@@ -0,0 +1,139 @@
+package com.inventory.search;
+
+import com.inventory.dto.ProductDTO;
+import com.inventory.entity.Inventory;
+import com.inventory.repository.InventoryJdbcRepository;
+import com.inventory.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+
+        InventoryJdbcRepository jdbcRepository = Mockito.mock(InventoryJdbcRepository.class);
+        InventoryRepository repository = Mockito.mock(InventoryRepository.class);
+
+        List<Inventory> rows = List.of(
+                row(1, "SKU-100", "Office Chair"),
+                row(2, "SKU-101", "Chair"),
+                row(3, "SKU-200", "Armchair Deluxe"),
+                row(4, "LMP-1", "Desk Lamp"),
+                row(5, "SKU-1000", "Chalk Board")
+        );
+
+        doAnswer(invocation -> {
+            InventoryJdbcRepository.SearchKeyConsumer consumer = invocation.getArgument(0);
+            rows.forEach(row -> consumer.accept(row.getId(), row.getProductSku(), row.getProductName()));
+            return null;
+        }).when(jdbcRepository).forEachSearchKey(any());
+
+        // like the database, returns the requested rows in no particular order
+        doAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return rows.stream()
+                    .filter(row -> ids.contains(row.getId()))
+                    .sorted(Comparator.comparing(Inventory::getId).reversed())
+                    .toList();
+        }).when(repository).findAllById(any());
+
+        index = new ProductSearchIndex(jdbcRepository, repository);
+        index.rebuild();
+    }
+
+    @Test
+    void search_shouldRankExactThenPrefixThenSubstringNameMatches() {
+
+        assertEquals(List.of("SKU-101", "SKU-100", "SKU-200"), skus(index.search("chair", 10)));
+    }
+
+    @Test
+    void search_shouldMatchWordStartsForShortQueries() {
+
+        // "ch" starts "Chair" and "Chalk" but only sits inside "Armchair"
+        assertEquals(List.of("SKU-101", "SKU-1000", "SKU-100"), skus(index.search("Ch", 10)));
+    }
+
+    @Test
+    void search_shouldRankSkuHitsFirstAndHonourLimit() {
+
+        assertEquals(List.of("SKU-100", "SKU-1000"), skus(index.search("sku-100", 10)));
+        assertEquals(List.of("SKU-100"), skus(index.search("sku-100", 1)));
+    }
+
+    @Test
+    void search_shouldOnlyReadLimitSkusFromASharedPrefix() {
+
+        // every SKU but one starts with "s"; only the first two in SKU order are candidates
+        assertEquals(List.of("SKU-1000", "SKU-100"), skus(index.search("s", 2)));
+    }
+
+    @Test
+    void search_shouldRequireEveryWord() {
+
+        assertEquals(List.of("LMP-1"), skus(index.search("desk lam", 10)));
+        assertTrue(index.search("desk chair", 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldKeepTheBestRowsWhenMoreNamesMatchThanTheLimit() {
+
+        // three exact names fill the limit; the shorter-named prefix hit is still outranked
+        InventoryJdbcRepository jdbcRepository = Mockito.mock(InventoryJdbcRepository.class);
+        InventoryRepository repository = Mockito.mock(InventoryRepository.class);
+
+        List<Inventory> rows = List.of(
+                row(1, "A-1", "Chairs For Sale"),
+                row(2, "A-2", "Chair"),
+                row(3, "A-3", "Chair X"),
+                row(4, "A-4", "Chair"),
+                row(5, "A-5", "Chair"),
+                row(6, "A-6", "Chair")
+        );
+
+        doAnswer(invocation -> {
+            InventoryJdbcRepository.SearchKeyConsumer consumer = invocation.getArgument(0);
+            rows.forEach(row -> consumer.accept(row.getId(), row.getProductSku(), row.getProductName()));
+            return null;
+        }).when(jdbcRepository).forEachSearchKey(any());
+        doAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return rows.stream().filter(row -> ids.contains(row.getId())).toList();
+        }).when(repository).findAllById(any());
+
+        ProductSearchIndex small = new ProductSearchIndex(jdbcRepository, repository);
+        small.rebuild();
+
+        assertEquals(List.of("A-2", "A-4", "A-5"), skus(small.search("chair", 3)));
+        assertEquals(List.of("A-2", "A-4", "A-5", "A-6", "A-3"), skus(small.search("chair", 5)));
+    }
+
+    private static List<String> skus(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getProductSku).toList();
+    }
+
+    private static Inventory row(long id, String sku, String name) {
+        return Inventory.builder()
+                .id(id)
+                .productSku(sku)
+                .productName(name)
+                .category("Test")
+                .purchaseDate(LocalDate.of(2025, 1, 1))
+                .unitPrice(10)
+                .quantity(1)
+                .build();
+    }
+}
@@ -1,28 +1,70 @@
 package com.inventory.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.cache.CategorySummaryCache;
+import com.inventory.cache.InventorySummaryAccumulator;
+import com.inventory.cache.ProductPageCache;
+import com.inventory.catalogue.InMemoryCatalogue;
+import com.inventory.config.InventoryProperties;
 import com.inventory.dto.ExcelUploadResultDTO;
 import com.inventory.dto.PageResponseDTO;
 import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductKey;
 import com.inventory.dto.ProductSummaryDTO;
 import com.inventory.entity.Inventory;
-import com.inventory.exception.DuplicateProductException;
+import com.inventory.exception.InvalidExcelException;
+import com.inventory.ingest.ErrorReportStore;
+import com.inventory.ingest.IngestMetrics;
+import com.inventory.ingest.UploadJobRegistry;
+import com.inventory.ingest.UploadMode;
+import com.inventory.ingest.UploadOptions;
+import com.inventory.repository.InventoryJdbcRepository;
 import com.inventory.repository.InventoryRepository;
+import com.inventory.repository.ProductFilter;
+import com.inventory.repository.ProductSortKey;
+import com.inventory.search.ProductSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +73,45 @@ class ProductServiceImplTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private InventoryJdbcRepository inventoryJdbcRepository;
+
+    @Mock
+    private InventorySummaryAccumulator summaryAccumulator;
+
+    @Mock
+    private UploadJobRegistry uploadJobs;
+
+    @Mock
+    private ProductPageCache pageCache;
+
+    @Mock
+    private InMemoryCatalogue catalogue;
+
+    @Mock
+    private CategorySummaryCache categorySummaryCache;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private ErrorReportStore errorReports;
+
+    @Spy
+    private TransactionTemplate transactionTemplate =
+            new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+
+    @Spy
+    private InventoryProperties properties = new InventoryProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private IngestMetrics ingestMetrics = new IngestMetrics(meterRegistry);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -39,9 +120,6 @@ class ProductServiceImplTest {
     @Test
     void uploadCsv_shouldProcessAllRowsSuccessfully() throws Exception {
 
-        when(inventoryRepository.existsByProductSkuAndPurchaseDate(any(), any()))
-                .thenReturn(false);
-
         MockMultipartFile csvFile = new MockMultipartFile(
                 "file",
                 "products.csv",
@@ -59,14 +137,17 @@ class ProductServiceImplTest {
         assertEquals(10, result.getSuccessCount());
         assertEquals(0, result.getFailedCount());
         assertTrue(result.getErrors().isEmpty());
+
+        verify(inventoryJdbcRepository).stageAll(argThat(rows -> rows.size() == 10));
+        verify(inventoryRepository).deleteAllInBatch();
+        verify(inventoryJdbcRepository).publishStaging();
+        verify(summaryAccumulator).replace(argThat(totals -> totals.getCount() == 10));
+        verify(pageCache).invalidate();
     }
 
     @Test
     void uploadExcel_shouldSkipInvalidRowsAndReturnCounts() throws Exception {
 
-        when(inventoryRepository.existsByProductSkuAndPurchaseDate(any(), any()))
-                .thenReturn(false);
-
         MockMultipartFile excelFile = new MockMultipartFile(
                 "file",
                 "products.xlsx",
@@ -83,16 +164,104 @@ class ProductServiceImplTest {
         assertEquals(15, result.getSuccessCount());
         assertEquals(5, result.getFailedCount());
         assertFalse(result.getErrors().isEmpty());
+
+        assertEquals(15, meterRegistry.get("inventory.ingest.rows").tag("result", "persisted").counter().count());
+        assertEquals(5, meterRegistry.get("inventory.ingest.rows").tag("result", "failed").counter().count());
+        assertEquals(1, meterRegistry.get("inventory.upload").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("inventory.ingest.stage").tag("stage", "parse").timer().count());
+        assertEquals(1, meterRegistry.get("inventory.upload.file.size").summary().count());
+    }
+
+
+
+    @Test
+    void uploadCsv_shouldReportStageTimingsOnlyWhenRequested() throws Exception {
+
+        byte[] csv = ("Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity\n"
+                + "SKU-1,Desk,Furniture,2025-01-31,12.50,3\n"
+                + "SKU-1,Desk,Furniture,2025-01-31,12.50,3\n"
+                + "SKU-2,Lamp,Lighting,2025-02-01,-1,3\n").getBytes();
+
+        ExcelUploadResultDTO plain = productService.uploadFile(
+                new MockMultipartFile("file", "products.csv", "text/csv", csv), UploadOptions.DEFAULT);
+        ExcelUploadResultDTO timed = productService.uploadFile(
+                new MockMultipartFile("file", "products.csv", "text/csv", csv),
+                UploadOptions.builder().timings(true).build());
+
+        assertNull(plain.getTimings());
+        assertNotNull(timed.getTimings());
+        assertEquals(1, timed.getSuccessCount());
+        // the duplicate is dropped after buffering, the invalid row never reaches the queue
+        assertEquals(2, timed.getTimings().getPeakBufferedRows());
+        assertTrue(timed.getTimings().getTotalMs() >= timed.getTimings().getPersistMs());
+        assertTrue(timed.getTimings().getRowsPerSecond() > 0);
+    }
+
+    @Test
+    void uploadCsv_shouldBoundErrorDetailsAndReportEveryError(@TempDir Path tempDir) throws Exception {
+
+        properties.getIngest().setMaxErrorDetails(2);
+        Path reportFile = tempDir.resolve("errors.txt");
+        when(errorReports.newReportFile()).thenReturn(reportFile);
+        when(errorReports.register(reportFile)).thenReturn("report-1");
+
+        StringBuilder csv = new StringBuilder("Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity\n");
+        csv.append("SKU-1,Desk,Furniture,2025-01-31,12.50,3\n");
+        for (int i = 0; i < 5; i++) {
+            csv.append("SKU-X").append(i).append(",Lamp,Lighting,2025-02-01,-1,3\n");
+        }
+        csv.append("SKU-1,Desk,Furniture,2025-01-31,12.50,3\n");
+        csv.append("broken\n");
+
+        ExcelUploadResultDTO result = productService.uploadFile(
+                new MockMultipartFile("file", "products.csv", "text/csv", csv.toString().getBytes()),
+                UploadOptions.builder().errorReport(true).build());
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(7, result.getFailedCount());
+        assertEquals(List.of("Row 3: Unit Price must be greater than zero",
+                "Row 4: Unit Price must be greater than zero"), result.getErrors());
+        assertTrue(result.isErrorsTruncated());
+        assertEquals(5, result.getErrorCounts().get("Unit Price must be greater than zero"));
+        assertEquals(1, result.getErrorCounts().get("Invalid CSV data"));
+        assertEquals(1, result.getErrorCounts().get("Duplicate Product SKU + Purchase Date"));
+
+        assertEquals("report-1", result.getErrorReportId());
+        assertEquals(7, Files.readAllLines(reportFile).size());
     }
 
+    @Test
+    void uploadFile_shouldDeleteErrorReportWhenFileTypeIsRejected(@TempDir Path tempDir) {
+
+        Path reportFile = tempDir.resolve("errors.txt");
+        when(errorReports.newReportFile()).thenReturn(reportFile);
+
+        MockMultipartFile textFile = new MockMultipartFile(
+                "file", "products.txt", "text/plain", "irrelevant".getBytes());
+
+        assertThrows(InvalidExcelException.class, () -> productService.uploadFile(
+                textFile, UploadOptions.builder().errorReport(true).build()));
+
+        assertFalse(Files.exists(reportFile));
+    }
 
+    @Test
+    void submitUpload_shouldRejectUnsupportedFileBeforeQueueing() {
+
+        MockMultipartFile textFile = new MockMultipartFile(
+                "file", "products.txt", "text/plain", "irrelevant".getBytes());
+
+        assertThrows(InvalidExcelException.class, () -> productService.submitUpload(textFile, UploadOptions.DEFAULT));
+
+        verify(uploadJobs, never()).submit(any());
+    }
 
     @Test
     void pagination_shouldThrowException_forInvalidPage()
             throws com.inventory.exception.IllegalArgumentException {
 
-        when(inventoryRepository.findAll())
-                .thenReturn(mockInventories(10));
+        when(inventoryRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(5, 5), 10));
 
         com.inventory.exception.IllegalArgumentException ex = assertThrows(
                 com.inventory.exception.IllegalArgumentException.class,
@@ -107,8 +276,9 @@ class ProductServiceImplTest {
     void getProducts_shouldReturnPagedData()
             throws com.inventory.exception.IllegalArgumentException {
 
-        when(inventoryRepository.findAll())
-                .thenReturn(mockInventories(10));
+        when(inventoryRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(
+                        mockInventories(10).subList(0, 5), PageRequest.of(0, 5), 10));
 
         PageResponseDTO<ProductDTO> page =
                 productService.getProducts(0, 5, "productName", "asc");
@@ -120,27 +290,217 @@ class ProductServiceImplTest {
     }
 
 
+    @Test
+    void getProducts_shouldServeCachedPageWithoutQuerying()
+            throws com.inventory.exception.IllegalArgumentException {
+
+        ProductPageCache.PageKey key =
+                new ProductPageCache.PageKey(0, LocalDate.now(), ProductSortKey.UNIT_PRICE, false, 0, 10, ProductFilter.NONE);
+        PageResponseDTO<ProductDTO> cached = PageResponseDTO.<ProductDTO>builder()
+                .content(List.of())
+                .build();
+
+        when(pageCache.keyFor(any(LocalDate.class), eq(ProductSortKey.UNIT_PRICE), eq(false), eq(0), eq(10),
+                eq(ProductFilter.NONE))).thenReturn(key);
+        when(pageCache.get(key)).thenReturn(cached);
+
+        assertSame(cached, productService.getProducts(0, 10, "unitPrice", "asc"));
+        verify(inventoryRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getProducts_shouldSliceInMemoryCatalogueWhenEnabled()
+            throws com.inventory.exception.IllegalArgumentException {
+
+        ProductDTO product = ProductDTO.builder().productSku("SKU-1").build();
+
+        when(catalogue.isEnabled()).thenReturn(true);
+        when(catalogue.page(ProductSortKey.QUANTITY, true, 0, 10, ProductFilter.NONE))
+                .thenReturn(new PageImpl<>(List.of(product), PageRequest.of(0, 10), 1));
+
+        PageResponseDTO<ProductDTO> response = productService.getProducts(0, 10, "quantity", "desc");
+
+        assertEquals(List.of(product), response.getContent());
+        verify(inventoryRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getProducts_shouldQueryWithSpecificationWhenFiltered()
+            throws com.inventory.exception.IllegalArgumentException {
+
+        when(inventoryRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+
+        ProductFilter filter = ProductFilter.builder().category("Furniture").minStockAge(30).build();
+        productService.getProducts(0, 10, "productName", "asc", filter);
+
+        verify(inventoryRepository).findAll(any(Specification.class), any(Pageable.class));
+        verify(inventoryRepository, never()).findAll(any(Pageable.class));
+
+        // the stock age bound is folded into a purchase date before caching
+        verify(pageCache).keyFor(eq(LocalDate.now()), eq(ProductSortKey.PRODUCT_NAME), eq(false), eq(0), eq(10), argThat(key ->
+                key.getMinStockAge() == null
+                        && LocalDate.now().minusDays(30).equals(key.getPurchasedTo())
+                        && "Furniture".equals(key.getCategory())));
+    }
 
     @Test
-    void summary_shouldReturnCorrectValues() {
+    void getProducts_shouldPushStockAgeSortIntoPurchaseDateOrder()
+            throws com.inventory.exception.IllegalArgumentException {
+
+        when(inventoryRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(
+                        mockInventories(10).subList(0, 5), PageRequest.of(0, 5), 10));
 
-        when(inventoryRepository.findAll())
-                .thenReturn(mockInventories(10));
+        productService.getProducts(0, 5, "stockAge", "asc");
 
-        ProductSummaryDTO summary = productService.getSummary();
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(inventoryRepository).findAll(captor.capture());
 
-        assertEquals(10, summary.getTotalProducts());
-        assertTrue(summary.getTotalInventoryValue() > 0);
-        assertTrue(summary.getAverageStockAge() >= 0);
+        Sort sort = captor.getValue().getSort();
+        assertEquals(Sort.Direction.DESC, sort.getOrderFor("purchaseDate").getDirection());
+        assertEquals(Sort.Direction.DESC, sort.getOrderFor("id").getDirection());
     }
 
 
 
     @Test
-    void uploadExcel_shouldThrowExceptionForDuplicateSkuAndDate() throws Exception {
+    void scrollProducts_shouldReturnCursorWhenMoreRowsExist()
+            throws com.inventory.exception.IllegalArgumentException {
 
-        when(inventoryRepository.existsByProductSkuAndPurchaseDate(any(), any()))
-                .thenReturn(true);
+        when(inventoryRepository.findPageAfter(
+                eq(ProductSortKey.PRODUCT_NAME), eq(false), isNull(), isNull(), eq(6)))
+                .thenReturn(mockInventories(6));
+
+        PageResponseDTO<ProductDTO> first =
+                productService.scrollProducts(null, 5, "productName", "asc");
+
+        assertEquals(5, first.getContent().size());
+        assertFalse(first.isLast());
+        assertNotNull(first.getNextCursor());
+
+        when(inventoryRepository.findPageAfter(
+                eq(ProductSortKey.PRODUCT_NAME), eq(false), eq("Product-5"), eq(5L), eq(6)))
+                .thenReturn(mockInventories(10).subList(5, 10));
+
+        PageResponseDTO<ProductDTO> second =
+                productService.scrollProducts(first.getNextCursor(), 5, "productName", "asc");
+
+        assertEquals(5, second.getContent().size());
+        assertTrue(second.isLast());
+        assertNull(second.getNextCursor());
+    }
+
+
+    @Test
+    void scrollProducts_shouldRejectCursorFromAnotherSort() throws Exception {
+
+        when(inventoryRepository.findPageAfter(any(), anyBoolean(), any(), any(), anyInt()))
+                .thenReturn(mockInventories(6));
+
+        String cursor = productService
+                .scrollProducts(null, 5, "productName", "asc")
+                .getNextCursor();
+
+        assertThrows(
+                com.inventory.exception.IllegalArgumentException.class,
+                () -> productService.scrollProducts(cursor, 5, "unitPrice", "asc")
+        );
+    }
+
+
+
+    @Test
+    void searchProducts_shouldValidateQueryAndLimit() {
+
+        com.inventory.exception.IllegalArgumentException ex = assertThrows(
+                com.inventory.exception.IllegalArgumentException.class,
+                () -> productService.searchProducts("  ", 10)
+        );
+        assertEquals("Search query must not be empty", ex.getMessage());
+
+        assertThrows(
+                com.inventory.exception.IllegalArgumentException.class,
+                () -> productService.searchProducts("chair", 101)
+        );
+
+        verify(searchIndex, never()).search(any(), anyInt());
+    }
+
+    @Test
+    void summary_shouldBeServedByAccumulator() {
+
+        ProductSummaryDTO expected = ProductSummaryDTO.builder()
+                .totalProducts(10)
+                .totalInventoryValue(10000)
+                .averageStockAge(5.5)
+                .build();
+
+        when(summaryAccumulator.summary()).thenReturn(expected);
+
+        assertSame(expected, productService.getSummary());
+        verify(inventoryRepository, never()).summarize();
+    }
+
+
+
+    @Test
+    void upload_shouldReportDuplicatesWithinFileInsteadOfAborting() {
+
+        MockMultipartFile csvFile = new MockMultipartFile(
+                "file",
+                "products.csv",
+                "text/csv",
+                ("Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity\n"
+                        + "SKU-1,Laptop,Electronics,2025-01-10,1000,2\n"
+                        + "SKU-1,Laptop,Electronics,2025-01-10,1000,2\n"
+                        + "SKU-1,Laptop,Electronics,2025-01-11,1000,2\n").getBytes()
+        );
+
+        ExcelUploadResultDTO result = productService.uploadFile(csvFile);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(1, result.getFailedCount());
+        assertEquals(
+                List.of("Duplicate Product SKU + Purchase Date: SKU-1 - 2025-01-10"),
+                result.getErrors()
+        );
+
+        verify(inventoryJdbcRepository).stageAll(argThat(rows -> rows.size() == 2));
+    }
+
+
+    @Test
+    void upload_shouldLoadStagingBeforeSwappingLiveTable() throws Exception {
+
+        MockMultipartFile csvFile = new MockMultipartFile(
+                "file",
+                "products.csv",
+                "text/csv",
+                Objects.requireNonNull(
+                        getClass().getClassLoader()
+                                .getResourceAsStream("product_inventory_10_records.csv")
+                )
+        );
+
+        productService.uploadFile(csvFile);
+
+        InOrder order = inOrder(inventoryJdbcRepository, inventoryRepository);
+        order.verify(inventoryJdbcRepository).resetStaging();
+        order.verify(inventoryJdbcRepository).stageAll(any());
+        order.verify(inventoryRepository).deleteAllInBatch();
+        order.verify(inventoryJdbcRepository).publishStaging();
+        order.verify(inventoryJdbcRepository).clearStaging();
+    }
+
+
+    @Test
+    void upload_shouldLeaveLiveTableAloneWhenLoadFails() throws Exception {
+
+        doThrow(new DataAccessResourceFailureException("disk full"))
+                .when(inventoryJdbcRepository).stageAll(any());
 
         MockMultipartFile csvFile = new MockMultipartFile(
                 "file",
@@ -153,9 +513,87 @@ class ProductServiceImplTest {
         );
 
         assertThrows(
-                DuplicateProductException.class,
+                DataAccessResourceFailureException.class,
                 () -> productService.uploadFile(csvFile)
         );
+
+        verify(inventoryRepository, never()).deleteAllInBatch();
+        verify(inventoryJdbcRepository, never()).publishStaging();
+        verify(inventoryJdbcRepository).clearStaging();
+        verify(summaryAccumulator, never()).replace(any());
+    }
+
+
+    @Test
+    void mergeUpload_shouldUpsertWithoutClearingTable() throws Exception {
+
+        MockMultipartFile csvFile = new MockMultipartFile(
+                "file",
+                "products.csv",
+                "text/csv",
+                Objects.requireNonNull(
+                        getClass().getClassLoader()
+                                .getResourceAsStream("product_inventory_10_records.csv")
+                )
+        );
+
+        ExcelUploadResultDTO result = productService.uploadFile(csvFile, UploadMode.MERGE, false);
+
+        assertEquals(10, result.getSuccessCount());
+        assertEquals(0, result.getDeletedCount());
+
+        verify(inventoryRepository, never()).deleteAllInBatch();
+        verify(inventoryJdbcRepository).mergeAll(argThat(rows -> rows.size() == 10));
+        verify(inventoryJdbcRepository, never()).deleteAllExcept(any());
+        verify(summaryAccumulator).rebuild();
+    }
+
+
+    @Test
+    void mergeUpload_shouldTakeSummaryFromReloadedCatalogue() {
+
+        InventorySummaryAccumulator.Totals totals = new InventorySummaryAccumulator.Totals(42, 1000, 0);
+        when(catalogue.isEnabled()).thenReturn(true);
+        when(catalogue.totals()).thenReturn(totals);
+
+        MockMultipartFile csvFile = new MockMultipartFile(
+                "file",
+                "products.csv",
+                "text/csv",
+                ("Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity\n"
+                        + "SKU-1,Laptop,Electronics,2025-01-10,1000,2\n").getBytes()
+        );
+
+        productService.uploadFile(csvFile, UploadMode.MERGE, false);
+
+        InOrder order = inOrder(catalogue, summaryAccumulator);
+        order.verify(catalogue).reload();
+        order.verify(summaryAccumulator).replace(totals);
+        verify(summaryAccumulator, never()).rebuild();
+    }
+
+
+    @Test
+    void mergeUpload_shouldDeleteRowsMissingFromFeedWhenAsked() {
+
+        when(inventoryJdbcRepository.deleteAllExcept(any())).thenReturn(3);
+
+        MockMultipartFile csvFile = new MockMultipartFile(
+                "file",
+                "products.csv",
+                "text/csv",
+                ("Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity\n"
+                        + "SKU-1,Laptop,Electronics,2025-01-10,1000,2\n"
+                        + "SKU-2,Chair,Furniture,2025-01-11,50,4\n").getBytes()
+        );
+
+        ExcelUploadResultDTO result = productService.uploadFile(csvFile, UploadMode.MERGE, true);
+
+        assertEquals(3, result.getDeletedCount());
+        verify(inventoryJdbcRepository).deleteAllExcept(Set.of(
+                new ProductKey("SKU-1", LocalDate.parse("2025-01-10")),
+                new ProductKey("SKU-2", LocalDate.parse("2025-01-11"))
+        ));
     }
 
 
@@ -167,6 +605,9 @@ class ProductServiceImplTest {
 
         verify(inventoryRepository, times(1)).truncateInventory();
         verify(inventoryRepository, times(1)).resetInventoryIdentity();
+        verify(summaryAccumulator, times(1)).reset();
+        verify(searchIndex, times(1)).rebuild();
+        verify(pageCache, times(1)).invalidate();
     }
 
 
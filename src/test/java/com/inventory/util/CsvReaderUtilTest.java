@@ -5,6 +5,7 @@ import com.inventory.dto.ProductDTO;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,4 +35,124 @@ class CsvReaderUtilTest {
         assertEquals(0, result.getFailedCount());
         assertEquals(10, validProducts.size());
     }
+
+    @Test
+    void readCsv_shouldKeepFileOrderAndRowNumbersAcrossChunks() {
+
+        int rows = CsvReaderUtil.CHUNK_RECORDS * 3 + 17;
+        int badRow = CsvReaderUtil.CHUNK_RECORDS * 2 + 5;
+
+        StringBuilder csv = new StringBuilder("Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity\n");
+        for (int i = 0; i < rows; i++) {
+            // i-th data row sits on file line i + 2
+            if (i + 2 == badRow) {
+                csv.append("SKU-").append(i).append(",Broken,Row,not-a-date,1,1\n");
+            } else {
+                csv.append("SKU-").append(i).append(",Item,Test,2025-01-01,10,1\n");
+            }
+        }
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "products.csv", "text/csv", csv.toString().getBytes());
+
+        List<ProductDTO> validProducts = new ArrayList<>();
+        ExcelUploadResultDTO result = CsvReaderUtil.readCsv(file, validProducts);
+
+        assertEquals(rows, result.getTotalRows());
+        assertEquals(rows - 1, result.getSuccessCount());
+        assertEquals(List.of("Row " + badRow + ": Invalid CSV data"), result.getErrors());
+
+        assertEquals("SKU-0", validProducts.get(0).getProductSku());
+        assertEquals("SKU-" + (rows - 1), validProducts.get(validProducts.size() - 1).getProductSku());
+    }
+
+    @Test
+    void readCsv_shouldAcceptQuotedFieldsSpanningLines() {
+
+        String csv = "Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity\r\n"
+                + "SKU-1,\"Desk, \"\"Oak\"\"\",Furniture,2025-01-31,12.50,3\r\n"
+                + "SKU-2,\"Two\nLines\",Office,2025-02-01,4,1\r\n"
+                + "SKU-3,Broken,Office,2025-02-01,\"4\n";
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "products.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        List<ProductDTO> validProducts = new ArrayList<>();
+        ExcelUploadResultDTO result = CsvReaderUtil.readCsv(file, validProducts);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(List.of("Row 4: Invalid CSV data"), result.getErrors());
+        assertEquals("Desk, \"Oak\"", validProducts.get(0).getProductName());
+        assertEquals(12.5, validProducts.get(0).getUnitPrice());
+        assertEquals("Two\nLines", validProducts.get(1).getProductName());
+    }
+
+    @Test
+    void readCsv_shouldTreatQuoteInsideUnquotedFieldAsText() {
+
+        String csv = "Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity\n"
+                + "SKU-1,27\" Monitor,Electronics,2025-01-31,150,2\n"
+                + "SKU-2,Desk,Furniture,2025-02-01,80,1\n"
+                + "SKU-3,Lamp,Lighting,2025-02-02,20,4\n";
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "products.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        List<ProductDTO> validProducts = new ArrayList<>();
+        ExcelUploadResultDTO result = CsvReaderUtil.readCsv(file, validProducts);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(3, result.getSuccessCount());
+        assertEquals("27\" Monitor", validProducts.get(0).getProductName());
+        assertEquals("SKU-3", validProducts.get(2).getProductSku());
+    }
+
+    @Test
+    void readCsv_shouldFailOnlyTheRowOfAnUnclosedQuoteAtEndOfFile() {
+
+        String csv = "Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity\n"
+                + "SKU-2,Desk,Furniture,2025-02-01,80,1\n"
+                + "SKU-9,\"Unclosed,Misc,2025-02-02,5,1\n"
+                + "SKU-8,Pen,Stationery,2025-02-03,2,10\n";
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "products.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        List<ProductDTO> validProducts = new ArrayList<>();
+        ExcelUploadResultDTO result = CsvReaderUtil.readCsv(file, validProducts);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(List.of("Row 3: Invalid CSV data"), result.getErrors());
+        assertEquals("SKU-8", validProducts.get(1).getProductSku());
+    }
+
+    @Test
+    void readCsv_shouldResumeAfterUnclosedQuoteOnceItSpansTooMuch() {
+
+        // enough rows after the stray quote to pass the cap and several chunks
+        int rows = CsvReaderUtil.CHUNK_RECORDS * 3;
+        int badRow = 3;
+
+        StringBuilder csv = new StringBuilder("Product SKU,Product Name,Category,Purchase Date,Unit Price,Quantity\n");
+        for (int i = 0; i < rows; i++) {
+            if (i + 2 == badRow) {
+                csv.append("SKU-").append(i).append(",\"Unclosed,Row,2025-01-01,1,1\n");
+            } else {
+                csv.append("SKU-").append(i).append(",Item,Test,2025-01-01,10,1\n");
+            }
+        }
+        assertTrue(csv.length() > CsvRecordReader.MAX_QUOTED_CHARS);
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "products.csv", "text/csv", csv.toString().getBytes());
+
+        List<ProductDTO> validProducts = new ArrayList<>();
+        ExcelUploadResultDTO result = CsvReaderUtil.readCsv(file, validProducts);
+
+        assertEquals(rows, result.getTotalRows());
+        assertEquals(rows - 1, result.getSuccessCount());
+        assertEquals(List.of("Row " + badRow + ": Invalid CSV data"), result.getErrors());
+        assertEquals("SKU-" + (rows - 1), validProducts.get(validProducts.size() - 1).getProductSku());
+    }
 }
@@ -0,0 +1,47 @@
+package com.inventory.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTokenizerTest {
+
+    private final CsvTokenizer tokenizer = new CsvTokenizer();
+
+    private boolean tokenize(String record) {
+        char[] data = record.toCharArray();
+        return tokenizer.tokenize(data, 0, data.length);
+    }
+
+    @Test
+    void tokenize_shouldHandleQuotedCommasAndEscapedQuotes() {
+
+        assertTrue(tokenize("SKU-1,\"Desk, \"\"Oak\"\"\",Furniture,2025-01-31,12.50,3"));
+
+        assertEquals(6, tokenizer.fieldCount());
+        assertEquals("SKU-1", tokenizer.string(0));
+        assertEquals("Desk, \"Oak\"", tokenizer.string(1));
+        assertEquals(LocalDate.of(2025, 1, 31), tokenizer.parseDate(3));
+        assertEquals(12.5, tokenizer.parseDouble(4));
+        assertEquals(3, tokenizer.parseInt(5));
+    }
+
+    @Test
+    void tokenize_shouldRejectUnterminatedQuote() {
+        assertFalse(tokenize("SKU-1,\"Desk,Furniture"));
+    }
+
+    @Test
+    void parse_shouldFlagMalformedValues() {
+
+        assertTrue(tokenize("2025-02-30,abc,99999999999,1e3,-7"));
+
+        assertNull(tokenizer.parseDate(0));
+        assertTrue(Double.isNaN(tokenizer.parseDouble(1)));
+        assertEquals(CsvTokenizer.NOT_A_NUMBER, tokenizer.parseInt(2));
+        assertEquals(1000.0, tokenizer.parseDouble(3));
+        assertEquals(-7, tokenizer.parseInt(4));
+    }
+}
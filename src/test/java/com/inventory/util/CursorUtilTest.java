@@ -0,0 +1,55 @@
+package com.inventory.util;
+
+import com.inventory.entity.Inventory;
+import com.inventory.exception.IllegalArgumentException;
+import com.inventory.repository.ProductSortKey;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorUtilTest {
+
+    private final Inventory last = Inventory.builder()
+            .id(42L)
+            .productSku("SKU-42")
+            .productName("Desk | Oak")
+            .category("Furniture")
+            .purchaseDate(LocalDate.of(2025, 3, 1))
+            .unitPrice(1250.5)
+            .quantity(3)
+            .build();
+
+    @Test
+    void decode_shouldRoundTripSortValueAndId() throws Exception {
+
+        String cursor = CursorUtil.encode(ProductSortKey.PRODUCT_NAME, false, last);
+
+        CursorUtil.Position position =
+                CursorUtil.decode(cursor, ProductSortKey.PRODUCT_NAME, false);
+
+        assertEquals("Desk | Oak", position.getValue());
+        assertEquals(42L, position.getId());
+    }
+
+    @Test
+    void decode_shouldParseTypedSortValue() throws Exception {
+
+        String cursor = CursorUtil.encode(ProductSortKey.STOCK_AGE, true, last);
+
+        CursorUtil.Position position =
+                CursorUtil.decode(cursor, ProductSortKey.STOCK_AGE, true);
+
+        assertEquals(LocalDate.of(2025, 3, 1), position.getValue());
+    }
+
+    @Test
+    void decode_shouldRejectGarbage() {
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> CursorUtil.decode("not-a-cursor", ProductSortKey.UNIT_PRICE, false)
+        );
+    }
+}
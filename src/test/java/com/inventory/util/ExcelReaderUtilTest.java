@@ -2,9 +2,19 @@ package com.inventory.util;
 
 import com.inventory.dto.ExcelUploadResultDTO;
 import com.inventory.dto.ProductDTO;
+import com.inventory.exception.InvalidExcelException;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,4 +44,101 @@ class ExcelReaderUtilTest {
         assertEquals(5, result.getFailedCount());
         assertEquals(15, validProducts.size());
     }
+
+    @Test
+    void readExcel_shouldReadRawValuesAndReportMissingRows() throws Exception {
+
+        byte[] workbook;
+
+        try (XSSFWorkbook wb = new XSSFWorkbook();
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+
+            CellStyle dateStyle = wb.createCellStyle();
+            dateStyle.setDataFormat(wb.createDataFormat().getFormat("dd/mm/yyyy"));
+
+            CellStyle priceStyle = wb.createCellStyle();
+            priceStyle.setDataFormat(wb.createDataFormat().getFormat("#,##0.00"));
+
+            Sheet sheet = wb.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue("Product SKU");
+
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue("SKU-1");
+            row.createCell(1).setCellValue("Desk");
+            row.createCell(2).setCellValue("Furniture");
+            row.createCell(3).setCellValue(LocalDate.of(2025, 2, 14));
+            row.getCell(3).setCellStyle(dateStyle);
+            row.createCell(4).setCellValue(12500.5);
+            row.getCell(4).setCellStyle(priceStyle);
+            row.createCell(5).setCellValue(3);
+
+            // row index 2 is never created, row 3 only has a name
+            sheet.createRow(3).createCell(1).setCellValue("Orphan");
+
+            wb.write(out);
+            workbook = out.toByteArray();
+        }
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "products.xlsx", "application/octet-stream", workbook);
+
+        List<ProductDTO> validProducts = new ArrayList<>();
+        ExcelUploadResultDTO result = ExcelReaderUtil.readExcel(file, validProducts);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(2, result.getFailedCount());
+        assertEquals("Row 3: Empty row", result.getErrors().get(0));
+        assertEquals("Row 4: Invalid cell value", result.getErrors().get(1));
+
+        ProductDTO product = validProducts.get(0);
+        assertEquals(LocalDate.of(2025, 2, 14), product.getPurchaseDate());
+        assertEquals(12500.5, product.getUnitPrice());
+        assertEquals(3, product.getQuantity());
+    }
+
+    @Test
+    void readExcel_shouldReportWhyAFileIsNotAWorkbook() {
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "products.xlsx", "application/octet-stream", "not a workbook".getBytes());
+
+        InvalidExcelException ex = assertThrows(
+                InvalidExcelException.class,
+                () -> ExcelReaderUtil.readExcel(file, new ArrayList<>()));
+
+        assertTrue(ex.getMessage().startsWith("Invalid Excel format: "), ex.getMessage());
+    }
+
+    @Test
+    void readExcel_shouldNotReportUploadReadFailuresAsBadFormat() {
+
+        InputStreamSource broken = () -> {
+            throw new IOException("connection reset");
+        };
+
+        UncheckedIOException ex = assertThrows(
+                UncheckedIOException.class,
+                () -> ExcelReaderUtil.readExcel(broken, product -> { }));
+
+        assertEquals("connection reset", ex.getCause().getMessage());
+    }
+
+    @Test
+    void readExcel_shouldPassSinkFailuresThrough() throws Exception {
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "products.xlsx", "application/octet-stream",
+                getClass().getClassLoader().getResourceAsStream("product_inventory_20_with_errors.xlsx"));
+
+        IllegalStateException failure = new IllegalStateException("batch write failed");
+
+        IllegalStateException ex = assertThrows(
+                IllegalStateException.class,
+                () -> ExcelReaderUtil.readExcel(file, product -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, ex);
+    }
 }
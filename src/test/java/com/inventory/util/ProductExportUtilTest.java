@@ -0,0 +1,67 @@
+package com.inventory.util;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.inventory.dto.ProductDTO;
+import com.inventory.exception.IllegalArgumentException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductExportUtilTest {
+
+    // Spring Boot's defaults: java.time support, ISO dates
+    private final ObjectWriter json = ProductExportUtil.jsonWriter(JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .build());
+
+    private final ProductDTO product = ProductDTO.builder()
+            .productSku("SKU-1")
+            .productName("Desk, \"Oak\"")
+            .category("Furniture")
+            .purchaseDate(LocalDate.of(2025, 1, 31))
+            .unitPrice(12.5)
+            .quantity(3)
+            .stockAge(10)
+            .inventoryValue(37.5)
+            .build();
+
+    @Test
+    void writeRow_shouldQuoteCsvFieldsWithSeparators() throws IOException {
+
+        StringWriter out = new StringWriter();
+        ProductExportUtil.writeHeader(ExportFormat.CSV, out);
+        ProductExportUtil.writeRow(ExportFormat.CSV, product, json, out);
+
+        assertEquals(ProductExportUtil.CSV_HEADER + "\n"
+                + "SKU-1,\"Desk, \"\"Oak\"\"\",Furniture,2025-01-31,12.5,3,10,37.5\n", out.toString());
+    }
+
+    @Test
+    void writeRow_shouldWriteOneJsonObjectPerLine() throws IOException {
+
+        StringWriter out = new StringWriter();
+        ProductExportUtil.writeHeader(ExportFormat.NDJSON, out);
+        ProductExportUtil.writeRow(ExportFormat.NDJSON, product, json, out);
+        ProductExportUtil.writeRow(ExportFormat.NDJSON, product, json, out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"productSku\":\"SKU-1\""));
+        assertTrue(lines[0].contains("\"purchaseDate\":\"2025-01-31\""));
+    }
+
+    @Test
+    void from_shouldRejectUnknownFormat() {
+        assertEquals(ExportFormat.NDJSON, assertDoesNotThrow(() -> ExportFormat.from("NDJSON")));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.from("xml"));
+    }
+}
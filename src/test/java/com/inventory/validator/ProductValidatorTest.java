@@ -120,4 +120,20 @@ class ProductValidatorTest {
 
         assertEquals("Quantity must be greater than zero", ex.getMessage());
     }
+
+    @Test
+    void check_shouldReturnViolationWithoutThrowing() {
+        ProductDTO product = validProduct();
+        LocalDate today = LocalDate.now();
+
+        assertNull(ProductValidator.check(product, today));
+
+        product.setPurchaseDate(today.plusDays(1));
+        assertEquals(ProductValidator.Violation.PURCHASE_DATE_IN_FUTURE, ProductValidator.check(product, today));
+
+        // the first broken rule wins
+        product.setCategory(" ");
+        assertEquals(ProductValidator.Violation.CATEGORY_MISSING, ProductValidator.check(product, today));
+        assertEquals("Category is mandatory", ProductValidator.check(product, today).getMessage());
+    }
 }